@@ -1,17 +1,41 @@
 package com.event.event_reservation_system.Repositories;
 
+import com.event.event_reservation_system.dto.CatalogueEntry;
+import com.event.event_reservation_system.dto.EventDTO;
+import com.event.event_reservation_system.dto.EventSearchDocument;
 import com.event.event_reservation_system.modele.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
 
+    /**
+     * Projection EventDTO : organisateur joint et compteur de places lus dans la même requête
+     */
+    String EVENT_DTO_SELECT = """
+        SELECT new com.event.event_reservation_system.dto.EventDTO(
+            e.id, e.titre, e.description, e.categorie, e.dateDebut, e.dateFin,
+            e.lieu, e.ville, e.capaciteMax, e.prixUnitaire, e.imageUrl, e.statut,
+            CONCAT(o.prenom, ' ', o.nom), o.email, o.telephone,
+            e.placesReservees, e.capaciteMax - e.placesReservees
+        )
+        FROM Event e
+        JOIN e.organisateur o
+    """;
+
     /**
      * Recherche dynamique avec filtres
      */
@@ -48,15 +72,16 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findAvailableEvents(@Param("now") LocalDateTime now);
 
     /**
-     * Événements populaires (triés par nombre de réservations)
+     * Événements publiés et non terminés les plus populaires (limite appliquée en base)
      */
     @Query("""
         SELECT e FROM Event e
-        LEFT JOIN e.reservations r
-        GROUP BY e
-        ORDER BY COUNT(r) DESC
+        JOIN FETCH e.organisateur
+        WHERE e.statut = com.event.event_reservation_system.modele.Statut.PUBLIE
+          AND e.dateFin > :now
+        ORDER BY e.scorePopularite DESC, e.id DESC
     """)
-    List<Event> findMostPopular();
+    List<Event> findMostPopular(@Param("now") LocalDateTime now, Limit limit);
 
     /**
      * Événements à marquer comme terminés
@@ -68,6 +93,30 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     """)
     List<Event> findEventsToMarkAsFinished(@Param("now") LocalDateTime now);
 
+    /**
+     * Identifiants d'un lot d'événements à marquer comme terminés
+     */
+    @Query("""
+        SELECT e.id FROM Event e
+        WHERE e.dateFin < :now
+          AND e.statut = com.event.event_reservation_system.modele.Statut.PUBLIE
+        ORDER BY e.id
+    """)
+    List<Long> findIdsToMarkAsFinished(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Passe les événements publiés donnés au statut TERMINE en une seule requête
+     */
+    @Modifying
+    @Query("""
+        UPDATE Event e
+        SET e.statut = com.event.event_reservation_system.modele.Statut.TERMINE,
+            e.dateModification = :now
+        WHERE e.id IN :ids
+          AND e.statut = com.event.event_reservation_system.modele.Statut.PUBLIE
+    """)
+    int marquerTermines(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
     /**
      * Événements d'un organisateur
      */
@@ -85,5 +134,246 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     @Query("SELECT e FROM Event e JOIN FETCH e.organisateur")
     List<Event> findAllWithOrganisateur();
+
+    /**
+     * Recherche dynamique avec filtres (projection DTO)
+     */
+    @Query(EVENT_DTO_SELECT + """
+        WHERE (:categorie IS NULL OR e.categorie = :categorie)
+          AND (:statut IS NULL OR e.statut = :statut)
+          AND (:ville IS NULL OR LOWER(e.ville) = LOWER(:ville))
+          AND (:minPrix IS NULL OR e.prixUnitaire >= :minPrix)
+          AND (:maxPrix IS NULL OR e.prixUnitaire <= :maxPrix)
+          AND (:dateDebut IS NULL OR e.dateDebut >= :dateDebut)
+          AND (:dateFin IS NULL OR e.dateFin <= :dateFin)
+          AND (:keyword IS NULL OR LOWER(e.titre) LIKE LOWER(CONCAT('%', :keyword, '%')))
+    """)
+    List<EventDTO> searchWithFiltersDTO(
+            @Param("categorie") Categorie categorie,
+            @Param("statut") Statut statut,
+            @Param("ville") String ville,
+            @Param("minPrix") Double minPrix,
+            @Param("maxPrix") Double maxPrix,
+            @Param("dateDebut") LocalDateTime dateDebut,
+            @Param("dateFin") LocalDateTime dateFin,
+            @Param("keyword") String keyword
+    );
+
+    /**
+     * Filtres du catalogue public : événements publiés non terminés
+     */
+    String AVAILABLE_FILTERS_WHERE = """
+        WHERE e.statut = com.event.event_reservation_system.modele.Statut.PUBLIE
+          AND e.dateFin > :now
+          AND (:categorie IS NULL OR e.categorie = :categorie)
+          AND (:ville IS NULL OR LOWER(e.ville) = LOWER(:ville))
+          AND (:minPrix IS NULL OR e.prixUnitaire >= :minPrix)
+          AND (:maxPrix IS NULL OR e.prixUnitaire <= :maxPrix)
+          AND (:dateDebut IS NULL OR e.dateDebut >= :dateDebut)
+          AND (:dateFin IS NULL OR e.dateFin <= :dateFin)
+          AND (:keyword IS NULL OR LOWER(e.titre) LIKE LOWER(CONCAT('%', :keyword, '%')))
+    """;
+
+    /**
+     * Recherche paginée des événements disponibles (tri, page et total calculés en base)
+     */
+    @Query(value = EVENT_DTO_SELECT + AVAILABLE_FILTERS_WHERE,
+            countQuery = "SELECT COUNT(e) FROM Event e " + AVAILABLE_FILTERS_WHERE)
+    Page<EventDTO> searchAvailableWithFiltersDTO(
+            @Param("categorie") Categorie categorie,
+            @Param("ville") String ville,
+            @Param("minPrix") Double minPrix,
+            @Param("maxPrix") Double maxPrix,
+            @Param("dateDebut") LocalDateTime dateDebut,
+            @Param("dateFin") LocalDateTime dateFin,
+            @Param("keyword") String keyword,
+            @Param("now") LocalDateTime now,
+            Pageable pageable
+    );
+
+    /**
+     * Événements disponibles parmi les identifiants donnés (résultats de la recherche plein texte)
+     */
+    @Query(EVENT_DTO_SELECT + """
+        WHERE e.id IN :ids
+          AND e.statut = com.event.event_reservation_system.modele.Statut.PUBLIE
+          AND e.dateFin > :now
+          AND (:categorie IS NULL OR e.categorie = :categorie)
+          AND (:ville IS NULL OR LOWER(e.ville) = LOWER(:ville))
+          AND (:minPrix IS NULL OR e.prixUnitaire >= :minPrix)
+          AND (:maxPrix IS NULL OR e.prixUnitaire <= :maxPrix)
+          AND (:dateDebut IS NULL OR e.dateDebut >= :dateDebut)
+          AND (:dateFin IS NULL OR e.dateFin <= :dateFin)
+    """)
+    List<EventDTO> findAvailableByIdsDTO(
+            @Param("ids") Collection<Long> ids,
+            @Param("categorie") Categorie categorie,
+            @Param("ville") String ville,
+            @Param("minPrix") Double minPrix,
+            @Param("maxPrix") Double maxPrix,
+            @Param("dateDebut") LocalDateTime dateDebut,
+            @Param("dateFin") LocalDateTime dateFin,
+            @Param("now") LocalDateTime now,
+            Pageable pageable
+    );
+
+    /**
+     * Champs indexés de tous les événements (textes, filtres et tris), pour (re)construire l'index plein texte
+     */
+    @Query("""
+        SELECT new com.event.event_reservation_system.dto.EventSearchDocument(
+            e.id, e.titre, e.description, e.lieu, e.ville,
+            e.categorie, e.prixUnitaire, e.dateDebut, e.dateFin, e.statut, e.placesReservees
+        )
+        FROM Event e
+    """)
+    Stream<EventSearchDocument> streamSearchDocuments();
+
+    /**
+     * Événements publiés non terminés, pour (re)construire l'index des facettes du catalogue
+     */
+    @Query("""
+        SELECT new com.event.event_reservation_system.dto.CatalogueEntry(
+            e.id, e.categorie, e.ville, e.prixUnitaire, e.dateDebut, e.dateFin, e.statut
+        )
+        FROM Event e
+        WHERE e.statut = com.event.event_reservation_system.modele.Statut.PUBLIE
+          AND e.dateFin > :now
+    """)
+    Stream<CatalogueEntry> streamCatalogueEntries(@Param("now") LocalDateTime now);
+
+    /**
+     * Un événement en projection DTO, organisateur compris
+     */
+    @Query(EVENT_DTO_SELECT + """
+        WHERE e.id = :id
+    """)
+    Optional<EventDTO> findByIdDTO(@Param("id") Long id);
+
+    /**
+     * Événements encore disponibles (projection DTO)
+     */
+    @Query(EVENT_DTO_SELECT + """
+        WHERE e.dateFin > :now
+          AND e.statut = com.event.event_reservation_system.modele.Statut.PUBLIE
+    """)
+    List<EventDTO> findAvailableEventsDTO(@Param("now") LocalDateTime now);
+
+    /**
+     * Événements populaires (projection DTO, limite appliquée en base)
+     */
+    @Query(EVENT_DTO_SELECT + """
+        WHERE e.statut = com.event.event_reservation_system.modele.Statut.PUBLIE
+          AND e.dateFin > :now
+        ORDER BY e.scorePopularite DESC, e.id DESC
+    """)
+    List<EventDTO> findMostPopularDTO(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Ajoute une contribution (éventuellement négative) au score de popularité
+     */
+    @Modifying
+    @Query("""
+        UPDATE Event e SET e.scorePopularite =
+            CASE WHEN e.scorePopularite + :delta > 0 THEN e.scorePopularite + :delta ELSE 0 END
+        WHERE e.id = :id
+    """)
+    int ajouterScorePopularite(@Param("id") Long id, @Param("delta") double delta);
+
+    /**
+     * Remet à zéro tous les scores de popularité non nuls
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.scorePopularite = 0 WHERE e.scorePopularite <> 0")
+    int reinitialiserScoresPopularite();
+
+    /**
+     * Fixe le score de popularité d'un événement
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.scorePopularite = :score WHERE e.id = :id")
+    int definirScorePopularite(@Param("id") Long id, @Param("score") double score);
+
+    /**
+     * Événements d'une catégorie et d'un statut (projection DTO, limite appliquée en base)
+     */
+    @Query(EVENT_DTO_SELECT + """
+        WHERE e.categorie = :categorie
+          AND e.statut = :statut
+    """)
+    List<EventDTO> findByCategorieAndStatutDTO(
+            @Param("categorie") Categorie categorie,
+            @Param("statut") Statut statut,
+            Pageable pageable
+    );
+
+    /**
+     * Incrémente le compteur de places si la capacité le permet (0 ligne modifiée sinon)
+     */
+    @Modifying
+    @Query("""
+        UPDATE Event e SET e.placesReservees = e.placesReservees + :nombre
+        WHERE e.id = :id
+          AND e.placesReservees + :nombre <= e.capaciteMax
+    """)
+    int incrementerPlacesReservees(@Param("id") Long id, @Param("nombre") int nombre);
+
+    /**
+     * Décrémente le compteur de places (sans descendre sous zéro)
+     */
+    @Modifying
+    @Query("""
+        UPDATE Event e SET e.placesReservees =
+            CASE WHEN e.placesReservees >= :nombre THEN e.placesReservees - :nombre ELSE 0 END
+        WHERE e.id = :id
+    """)
+    int decrementerPlacesReservees(@Param("id") Long id, @Param("nombre") int nombre);
+
+    /**
+     * Lit directement en base le compteur de places réservées
+     */
+    @Query("SELECT e.placesReservees FROM Event e WHERE e.id = :id")
+    Integer findPlacesReservees(@Param("id") Long id);
+
+    /**
+     * Lit directement en base le nombre de places encore disponibles
+     */
+    @Query("SELECT e.capaciteMax - e.placesReservees FROM Event e WHERE e.id = :id")
+    Integer findPlacesDisponibles(@Param("id") Long id);
+
+    /**
+     * Remet à zéro le compteur de places (annulation de l'événement)
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.placesReservees = 0 WHERE e.id = :id")
+    int reinitialiserPlacesReservees(@Param("id") Long id);
+
+    /**
+     * Événements dont le compteur diverge de la somme des réservations actives
+     * (id, compteur, somme réelle)
+     */
+    @Query("""
+        SELECT e.id, e.placesReservees, COALESCE(SUM(r.nombrePlaces), 0)
+        FROM Event e
+        LEFT JOIN e.reservations r
+            ON (r.statut = 'CONFIRMEE' OR r.statut = 'EN_ATTENTE')
+        GROUP BY e.id, e.placesReservees
+        HAVING e.placesReservees <> COALESCE(SUM(r.nombrePlaces), 0)
+    """)
+    List<Object[]> findPlacesReserveesDivergentes();
+
+    /**
+     * Recalcule le compteur d'un événement à partir de la table des réservations
+     */
+    @Modifying
+    @Query("""
+        UPDATE Event e SET e.placesReservees = (
+            SELECT COALESCE(SUM(r.nombrePlaces), 0) FROM Reservation r
+            WHERE r.evenement = e
+              AND (r.statut = 'CONFIRMEE' OR r.statut = 'EN_ATTENTE')
+        )
+        WHERE e.id = :id
+    """)
+    int recalculerPlacesReservees(@Param("id") Long id);
 }
 
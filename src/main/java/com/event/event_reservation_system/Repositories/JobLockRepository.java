@@ -0,0 +1,56 @@
+package com.event.event_reservation_system.Repositories;
+
+import com.event.event_reservation_system.modele.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * Prend le bail si celui-ci est expiré ou déjà détenu par ce nœud (0 ligne modifiée sinon)
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE JobLock l SET l.verrouilleJusqua = :jusqua, l.verrouillePar = :noeud
+        WHERE l.nom = :nom
+          AND (l.verrouilleJusqua <= :now OR l.verrouillePar = :noeud)
+    """)
+    int acquerir(@Param("nom") String nom,
+                 @Param("noeud") String noeud,
+                 @Param("now") LocalDateTime now,
+                 @Param("jusqua") LocalDateTime jusqua);
+
+    /**
+     * Crée le verrou avec son premier bail. Vrai INSERT (pas de merge) : si une autre instance
+     * l'a créé entre-temps, la clé primaire lève une DataIntegrityViolationException
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO job_locks (nom, verrouille_jusqua, verrouille_par)
+        VALUES (:nom, :jusqua, :noeud)
+    """, nativeQuery = true)
+    int inserer(@Param("nom") String nom,
+                @Param("noeud") String noeud,
+                @Param("jusqua") LocalDateTime jusqua);
+
+    /**
+     * Rend le bail détenu par ce nœud
+     */
+    @Modifying
+    @Query("""
+        UPDATE JobLock l SET l.verrouilleJusqua = :now
+        WHERE l.nom = :nom AND l.verrouillePar = :noeud
+    """)
+    int liberer(@Param("nom") String nom,
+                @Param("noeud") String noeud,
+                @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,27 @@
+package com.event.event_reservation_system.Repositories;
+
+import com.event.event_reservation_system.modele.OriginePopularite;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OriginePopulariteRepository extends JpaRepository<OriginePopularite, Integer> {
+
+    /**
+     * Origine courante des poids
+     */
+    @Query("SELECT o.origine FROM OriginePopularite o WHERE o.id = " + OriginePopularite.ID)
+    LocalDateTime origine();
+
+    /**
+     * Origine courante, ligne verrouillée jusqu'au commit : un seul recalcul à la fois
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OriginePopularite o WHERE o.id = " + OriginePopularite.ID)
+    OriginePopularite verrouiller();
+}
@@ -7,16 +7,22 @@ import com.event.event_reservation_system.modele.StatutReservation;
 import com.event.event_reservation_system.modele.User;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ReservationRepository extends JpaRepository<Reservation, Long>,
+        JpaSpecificationExecutor<Reservation>, ReservationRepositoryCustom {
 
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
     /**
      * Trouve les réservations d'un utilisateur
      */
@@ -188,6 +194,103 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             "ORDER BY MONTH(r.dateReservation)")
     List<Object[]> countReservationsByMonthYear(@Param("year") int year);
 
+    /**
+     * Réservations d'un événement filtrées par statut et recherche (utilisateur et événement chargés),
+     * complétées par une condition de curseur puis par {@link #RESERVATIONS_EVENEMENT_TRI}
+     */
+    String RESERVATIONS_EVENEMENT = """
+                SELECT r FROM Reservation r
+                JOIN FETCH r.utilisateur u
+                JOIN FETCH r.evenement e
+                WHERE r.evenement.id = :eventId
+                  AND (:statut IS NULL OR r.statut = :statut)
+                  AND (:recherche IS NULL
+                       OR LOWER(r.codeReservation) LIKE LOWER(CONCAT('%', :recherche, '%'))
+                       OR LOWER(CONCAT(u.prenom, ' ', u.nom)) LIKE LOWER(CONCAT('%', :recherche, '%')))
+            """;
+
+    /**
+     * Ordre de la pagination par clé, servi par l'index (evenement_id, date_reservation, id)
+     */
+    String RESERVATIONS_EVENEMENT_TRI = " ORDER BY r.dateReservation DESC, r.id DESC";
+
+    /**
+     * Première page des réservations d'un événement (pagination par clé)
+     */
+    @Query(RESERVATIONS_EVENEMENT + RESERVATIONS_EVENEMENT_TRI)
+    List<Reservation> findByEvenementPremierePage(
+            @Param("eventId") Long eventId,
+            @Param("statut") StatutReservation statut,
+            @Param("recherche") String recherche,
+            Limit limit
+    );
+
+    /**
+     * Page de réservations d'un événement après un curseur (pagination par clé) ;
+     * la borne sur dateReservation seule permet le parcours de l'index à partir du curseur
+     */
+    @Query(RESERVATIONS_EVENEMENT + """
+                  AND r.dateReservation <= :apresDate
+                  AND (r.dateReservation < :apresDate
+                       OR (r.dateReservation = :apresDate AND r.id < :apresId))
+            """ + RESERVATIONS_EVENEMENT_TRI)
+    List<Reservation> findByEvenementApres(
+            @Param("eventId") Long eventId,
+            @Param("statut") StatutReservation statut,
+            @Param("recherche") String recherche,
+            @Param("apresDate") LocalDateTime apresDate,
+            @Param("apresId") Long apresId,
+            Limit limit
+    );
+
+    /**
+     * Nombre de réservations d'un événement correspondant aux filtres
+     */
+    @Query("""
+                SELECT COUNT(r) FROM Reservation r
+                JOIN r.utilisateur u
+                WHERE r.evenement.id = :eventId
+                  AND (:statut IS NULL OR r.statut = :statut)
+                  AND (:recherche IS NULL
+                       OR LOWER(r.codeReservation) LIKE LOWER(CONCAT('%', :recherche, '%'))
+                       OR LOWER(CONCAT(u.prenom, ' ', u.nom)) LIKE LOWER(CONCAT('%', :recherche, '%')))
+            """)
+    long countByEvenementFiltres(
+            @Param("eventId") Long eventId,
+            @Param("statut") StatutReservation statut,
+            @Param("recherche") String recherche
+    );
+
+    /**
+     * Nombre de réservations et montant total par statut pour un événement
+     */
+    @Query("SELECT r.statut, COUNT(r), COALESCE(SUM(r.montantTotal), 0) FROM Reservation r " +
+            "WHERE r.evenement = :evenement GROUP BY r.statut")
+    List<Object[]> aggregateByStatutForEvent(@Param("evenement") Event evenement);
+
+    /**
+     * Identifiants d'un lot de réservations non annulées d'un événement
+     */
+    @Query("SELECT r.id FROM Reservation r " +
+            "WHERE r.evenement = :evenement AND r.statut <> 'ANNULEE' " +
+            "ORDER BY r.id")
+    List<Long> findIdsNonAnnuleesByEvenement(@Param("evenement") Event evenement, Limit limit);
+
+    /**
+     * Annule en une seule requête les réservations données qui ne le sont pas déjà
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Reservation r SET r.statut = 'ANNULEE' " +
+            "WHERE r.id IN :ids AND r.statut <> 'ANNULEE'")
+    int annulerParIds(@Param("ids") List<Long> ids);
+
+    /**
+     * Réservations confirmées depuis une date : identifiant de l'événement, places, date
+     */
+    @Query("SELECT r.evenement.id, r.nombrePlaces, r.dateReservation FROM Reservation r " +
+            "WHERE r.statut = 'CONFIRMEE' AND r.dateReservation >= :depuis")
+    Stream<Object[]> streamConfirmeesDepuis(@Param("depuis") LocalDateTime depuis);
+
     @Query("SELECT r FROM Reservation r JOIN FETCH r.utilisateur")
     List<Reservation> findAllWithUtilisateur();
     @Query("SELECT r FROM Reservation r " +
@@ -0,0 +1,39 @@
+package com.event.event_reservation_system.Repositories;
+
+import com.event.event_reservation_system.dto.ReservationFilter;
+import com.event.event_reservation_system.dto.ReservationStats;
+import com.event.event_reservation_system.modele.Reservation;
+import com.event.event_reservation_system.modele.StatutReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ReservationRepositoryCustom {
+
+    /**
+     * Statistiques des réservations filtrées, calculées en une seule requête groupée par statut
+     */
+    ReservationStats aggregateStats(ReservationFilter filtre, LocalDateTime now);
+
+    /**
+     * Tranche de réservations filtrées (utilisateur et événement chargés dans la même requête),
+     * sans requête COUNT : une ligne de plus que la taille demandée indique s'il reste une suite
+     */
+    Slice<Reservation> findSlice(ReservationFilter filtre, Pageable pageable);
+
+    /**
+     * Réservations d'un événement à partir d'une position (OFFSET), pour les sauts lointains
+     * de la grille que la pagination par clé ne peut atteindre qu'en lisant toutes les lignes sautées
+     */
+    List<Reservation> findByEvenementDecalage(Long eventId, StatutReservation statut, String recherche,
+                                              int decalage, int limite);
+
+    /**
+     * Flux des réservations filtrées (utilisateur et événement chargés), lu par curseur
+     * avec la taille de fetch donnée ; à consommer dans une transaction et à fermer
+     */
+    Stream<Reservation> streamForExport(ReservationFilter filtre, int fetchSize);
+}
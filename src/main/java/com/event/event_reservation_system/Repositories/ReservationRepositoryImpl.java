@@ -0,0 +1,132 @@
+package com.event.event_reservation_system.Repositories;
+
+import com.event.event_reservation_system.dto.ReservationFilter;
+import com.event.event_reservation_system.dto.ReservationStats;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.Reservation;
+import com.event.event_reservation_system.modele.StatutReservation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class ReservationRepositoryImpl implements ReservationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public ReservationStats aggregateStats(ReservationFilter filtre, LocalDateTime now) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Reservation> root = query.from(Reservation.class);
+        Join<Reservation, Event> evenement = root.join("evenement");
+
+        // Réservations non annulées dont l'événement n'a pas encore commencé
+        Expression<Integer> aVenir = cb.<Integer>selectCase()
+                .when(cb.and(
+                        cb.greaterThan(evenement.<LocalDateTime>get("dateDebut"), now),
+                        cb.notEqual(root.get("statut"), StatutReservation.ANNULEE)
+                ), 1)
+                .otherwise(0);
+
+        query.multiselect(
+                        root.get("statut"),
+                        cb.count(root),
+                        cb.coalesce(cb.sum(root.<Double>get("montantTotal")), 0.0),
+                        cb.sum(aVenir)
+                )
+                .where(ReservationSpecifications.avecFiltres(filtre).toPredicate(root, query, cb))
+                .groupBy(root.get("statut"));
+
+        Map<StatutReservation, Long> parStatut = new EnumMap<>(StatutReservation.class);
+        double revenuConfirme = 0;
+        long totalAVenir = 0;
+
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            StatutReservation statut = row.get(0, StatutReservation.class);
+            parStatut.put(statut, ((Number) row.get(1)).longValue());
+            totalAVenir += row.get(3) != null ? ((Number) row.get(3)).longValue() : 0;
+            if (statut == StatutReservation.CONFIRMEE) {
+                revenuConfirme = ((Number) row.get(2)).doubleValue();
+            }
+        }
+
+        return new ReservationStats(
+                parStatut.values().stream().mapToLong(Long::longValue).sum(),
+                parStatut.getOrDefault(StatutReservation.EN_ATTENTE, 0L),
+                parStatut.getOrDefault(StatutReservation.CONFIRMEE, 0L),
+                parStatut.getOrDefault(StatutReservation.ANNULEE, 0L),
+                totalAVenir,
+                revenuConfirme
+        );
+    }
+
+    @Override
+    public Slice<Reservation> findSlice(ReservationFilter filtre, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Reservation> query = cb.createQuery(Reservation.class);
+        Root<Reservation> root = query.from(Reservation.class);
+        root.fetch("utilisateur", JoinType.INNER);
+        root.fetch("evenement", JoinType.INNER);
+
+        query.select(root)
+                .where(ReservationSpecifications.avecFiltres(filtre).toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Reservation> lignes = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean suite = lignes.size() > pageable.getPageSize();
+        return new SliceImpl<>(suite ? lignes.subList(0, pageable.getPageSize()) : lignes, pageable, suite);
+    }
+
+    @Override
+    public List<Reservation> findByEvenementDecalage(Long eventId, StatutReservation statut, String recherche,
+                                                     int decalage, int limite) {
+        return entityManager.createQuery(ReservationRepository.RESERVATIONS_EVENEMENT
+                        + ReservationRepository.RESERVATIONS_EVENEMENT_TRI, Reservation.class)
+                .setParameter("eventId", eventId)
+                .setParameter("statut", statut)
+                .setParameter("recherche", recherche)
+                .setFirstResult(decalage)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Reservation> streamForExport(ReservationFilter filtre, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Reservation> query = cb.createQuery(Reservation.class);
+        Root<Reservation> root = query.from(Reservation.class);
+        root.fetch("utilisateur", JoinType.INNER);
+        root.fetch("evenement", JoinType.INNER);
+
+        query.select(root)
+                .where(ReservationSpecifications.avecFiltres(filtre).toPredicate(root, query, cb))
+                .orderBy(cb.desc(root.get("dateReservation")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
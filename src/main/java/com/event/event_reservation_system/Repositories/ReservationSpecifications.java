@@ -0,0 +1,96 @@
+package com.event.event_reservation_system.Repositories;
+
+import com.event.event_reservation_system.dto.ReservationFilter;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.Reservation;
+import com.event.event_reservation_system.modele.User;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Traduction des filtres de réservation en prédicats Criteria
+ */
+public final class ReservationSpecifications {
+
+    // Caractère d'échappement des motifs LIKE : % et _ saisis sont cherchés tels quels
+    private static final char ECHAPPEMENT = '\\';
+
+    private ReservationSpecifications() {
+    }
+
+    public static Specification<Reservation> avecFiltres(ReservationFilter filtre) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filtre.statut() != null) {
+                predicates.add(cb.equal(root.get("statut"), filtre.statut()));
+            }
+
+            if (estRenseigne(filtre.code())) {
+                predicates.add(cb.like(cb.lower(root.get("codeReservation")), contient(filtre.code()), ECHAPPEMENT));
+            }
+
+            if (estRenseigne(filtre.utilisateur())) {
+                Join<Reservation, User> utilisateur = jointure(root, "utilisateur");
+                String motif = contient(filtre.utilisateur());
+                predicates.add(cb.or(
+                        cb.like(cb.lower(cb.concat(cb.concat(utilisateur.get("prenom"), " "), utilisateur.get("nom"))),
+                                motif, ECHAPPEMENT),
+                        cb.like(cb.lower(utilisateur.get("email")), motif, ECHAPPEMENT)
+                ));
+            }
+
+            if (estRenseigne(filtre.evenement())) {
+                Join<Reservation, Event> evenement = jointure(root, "evenement");
+                predicates.add(cb.like(cb.lower(evenement.get("titre")), contient(filtre.evenement()), ECHAPPEMENT));
+            }
+
+            if (filtre.du() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dateReservation"), filtre.du().atStartOfDay()));
+            }
+
+            if (filtre.au() != null) {
+                predicates.add(cb.lessThan(root.get("dateReservation"), filtre.au().plusDays(1).atStartOfDay()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static boolean estRenseigne(String valeur) {
+        return valeur != null && !valeur.isBlank();
+    }
+
+    /**
+     * Jointure déjà posée sur l'association (fetch de findSlice et streamForExport),
+     * sinon une nouvelle : une seule jointure par table dans le SQL
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Join<Reservation, T> jointure(Root<Reservation> root, String association) {
+        for (Fetch<Reservation, ?> fetch : root.getFetches()) {
+            if (fetch.getAttribute().getName().equals(association) && fetch instanceof Join<?, ?> join) {
+                return (Join<Reservation, T>) join;
+            }
+        }
+        for (Join<Reservation, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals(association)) {
+                return (Join<Reservation, T>) join;
+            }
+        }
+        return root.join(association);
+    }
+
+    private static String contient(String valeur) {
+        String echappee = valeur.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + echappee + "%";
+    }
+}
@@ -3,6 +3,7 @@ package com.event.event_reservation_system.Repositories;
 import com.event.event_reservation_system.modele.Role;
 import com.event.event_reservation_system.modele.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -16,6 +17,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Remplace le hachage du mot de passe d'un utilisateur
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int mettreAJourMotDePasse(@Param("email") String email, @Param("password") String password);
+
     /**
      * Trouve tous les utilisateurs actifs avec un rôle spécifique
      */
@@ -0,0 +1,39 @@
+package com.event.event_reservation_system.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Caches Caffeine des lectures fréquentes du catalogue, dimensionnés cache par cache.
+ * L'intercepteur de cache enveloppe celui des transactions : les invalidations
+ * ont lieu après le commit (seul le chronométrage des services l'enveloppe lui-même).
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 1)
+public class CacheConfig {
+
+    public static final String EVENEMENTS_POPULAIRES = "evenementsPopulaires";
+    public static final String VILLES = "villes";
+    public static final String EVENEMENTS = "evenements";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> caffeineCaches(
+            @Value("${cache.evenements-populaires.spec}") String populairesSpec,
+            @Value("${cache.villes.spec}") String villesSpec,
+            @Value("${cache.evenements.spec}") String evenementsSpec) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(EVENEMENTS_POPULAIRES,
+                    Caffeine.from(populairesSpec).recordStats().build());
+            cacheManager.registerCustomCache(VILLES,
+                    Caffeine.from(villesSpec).recordStats().build());
+            cacheManager.registerCustomCache(EVENEMENTS,
+                    Caffeine.from(evenementsSpec).recordStats().build());
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.event.event_reservation_system.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Journalise périodiquement les succès et défauts de chaque cache Caffeine
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheStatistiquesLogger {
+
+    private final CacheManager cacheManager;
+
+    @Scheduled(fixedDelayString = "${cache.statistiques.intervalle:PT5M}",
+            initialDelayString = "${cache.statistiques.intervalle:PT5M}")
+    public void journaliser() {
+        for (String nom : cacheManager.getCacheNames()) {
+            org.springframework.cache.Cache cache = cacheManager.getCache(nom);
+            if (cache == null || !(cache.getNativeCache() instanceof Cache<?, ?> caffeine)) {
+                continue;
+            }
+            CacheStats stats = caffeine.stats();
+            log.info("Cache {} : {} entrée(s), {} succès, {} défaut(s), taux {}%, {} éviction(s)",
+                    nom, caffeine.estimatedSize(), stats.hitCount(), stats.missCount(),
+                    Math.round(stats.hitRate() * 100), stats.evictionCount());
+        }
+    }
+}
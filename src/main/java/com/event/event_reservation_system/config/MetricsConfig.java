@@ -0,0 +1,43 @@
+package com.event.event_reservation_system.config;
+
+import com.event.event_reservation_system.security.LoginRateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Métriques des composants que Spring Boot n'instrumente pas de lui-même.
+ * Caches Caffeine, pool Hikari, statistiques Hibernate et JVM sont liés automatiquement.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder loginRateLimiterMetrics(LoginRateLimiter loginRateLimiter) {
+        return registry -> {
+            FunctionCounter.builder("securite.connexion.rejets", loginRateLimiter, LoginRateLimiter::getRejetsEmail)
+                    .description("Tentatives de connexion refusées par la limitation")
+                    .tag("cle", "email")
+                    .register(registry);
+            FunctionCounter.builder("securite.connexion.rejets", loginRateLimiter, LoginRateLimiter::getRejetsIp)
+                    .description("Tentatives de connexion refusées par la limitation")
+                    .tag("cle", "ip")
+                    .register(registry);
+            Gauge.builder("securite.connexion.cles", loginRateLimiter, LoginRateLimiter::getNombreCles)
+                    .description("Seaux à jetons conservés (email et IP)")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder hachageExecutorMetrics(@Qualifier("hachageExecutor") ThreadPoolExecutor hachageExecutor) {
+        return new ExecutorServiceMetrics(hachageExecutor, "hachageExecutor", Tags.empty());
+    }
+}
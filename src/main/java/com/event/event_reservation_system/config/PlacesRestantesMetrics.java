@@ -0,0 +1,46 @@
+package com.event.event_reservation_system.config;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Places restantes des événements les plus demandés (evenement.places.restantes),
+ * relues en base à intervalle court pour suivre les ventes en direct.
+ * Seul l'identifiant sert de tag : un titre modifié créerait une nouvelle série.
+ */
+@Component
+public class PlacesRestantesMetrics {
+
+    private final EventRepository eventRepository;
+    private final MultiGauge placesRestantes;
+    private final int nombreEvenements;
+
+    public PlacesRestantesMetrics(EventRepository eventRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${metriques.evenements-populaires.nombre:10}") int nombreEvenements) {
+        this.eventRepository = eventRepository;
+        this.nombreEvenements = nombreEvenements;
+        this.placesRestantes = MultiGauge.builder("evenement.places.restantes")
+                .description("Places restantes des événements les plus populaires")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${metriques.evenements-populaires.intervalle:PT15S}")
+    public void rafraichir() {
+        // overwrite : un événement sorti du classement ne publie plus de valeur
+        placesRestantes.register(eventRepository
+                .findMostPopularDTO(LocalDateTime.now(), Limit.of(nombreEvenements)).stream()
+                .map(event -> MultiGauge.Row.of(
+                        Tags.of("evenement", String.valueOf(event.getId())),
+                        event.getPlacesDisponibles()))
+                .toList(), true);
+    }
+}
@@ -0,0 +1,87 @@
+package com.event.event_reservation_system.config;
+
+import com.event.event_reservation_system.exception.BusinessException;
+import com.event.event_reservation_system.exception.ConflictException;
+import com.event.event_reservation_system.exception.PlacesInsuffisantesException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chronomètre les méthodes publiques des services (service.duree, par classe et méthode)
+ * et la création de réservation (reservation.creation, par résultat : le nombre d'appels
+ * de chaque résultat sert de compteur). Placé avant le cache et les transactions,
+ * le temps mesuré inclut le commit et les éventuels conflits qu'il révèle.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String DUREE_SERVICE = "service.duree";
+    static final String CREATION_RESERVATION = "reservation.creation";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.event.event_reservation_system.service.ReservationService.creerReservation(..))")
+    public Object chronometrerReservation(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String resultat = "succes";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            resultat = resultat(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(CREATION_RESERVATION)
+                    .description("Création de réservation, de l'appel au commit")
+                    .tag("resultat", resultat)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Around("@within(org.springframework.stereotype.Service)"
+            + " && execution(public * com.event.event_reservation_system.service..*(..))")
+    public Object chronometrerService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(DUREE_SERVICE)
+                    .description("Durée des appels aux services")
+                    .tag("classe", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("methode", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    static String resultat(Throwable e) {
+        if (e instanceof PlacesInsuffisantesException) {
+            return "complet";
+        }
+        if (e instanceof ConflictException
+                || e instanceof ConcurrencyFailureException
+                || e instanceof DataIntegrityViolationException) {
+            return "conflit";
+        }
+        if (e instanceof BusinessException || e instanceof ConstraintViolationException) {
+            return "validation";
+        }
+        return "erreur";
+    }
+}
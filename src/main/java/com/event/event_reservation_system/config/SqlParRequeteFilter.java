@@ -0,0 +1,76 @@
+package com.event.event_reservation_system.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Compte les requêtes SQL de chaque appel HTTP, y compris les appels UIDL de Vaadin
+ * (identifiés par la page d'origine), et signale ceux qui dépassent le seuil
+ * avec la requête la plus répétée et la méthode applicative qui l'exécute
+ */
+@Slf4j
+public class SqlParRequeteFilter extends OncePerRequestFilter {
+
+    private final int seuilRequetes;
+    private final DistributionSummary requetesParAppel;
+    private final Counter appelsExcessifs;
+
+    public SqlParRequeteFilter(MeterRegistry meterRegistry, int seuilRequetes) {
+        this.seuilRequetes = seuilRequetes;
+        this.requetesParAppel = DistributionSummary.builder("http.requetes.sql")
+                .description("Requêtes SQL par appel HTTP")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.appelsExcessifs = Counter.builder("http.requetes.sql.excessives")
+                .description("Appels HTTP au-delà du seuil de requêtes SQL")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        StatistiquesSql statistiques = StatistiquesSql.demarrer();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatistiquesSql.terminer();
+            if (statistiques.getNombre() > 0) {
+                requetesParAppel.record(statistiques.getNombre());
+            }
+            if (statistiques.getNombre() > seuilRequetes) {
+                appelsExcessifs.increment();
+                Map.Entry<String, Integer> plusRepetee = statistiques.plusRepetee();
+                log.warn("{} requêtes SQL ({} ms) pour {} ; la plus répétée ({} fois, depuis {}) : {}",
+                        statistiques.getNombre(), statistiques.getDureeMillis(), decrire(request),
+                        plusRepetee.getValue(), statistiques.origine(plusRepetee.getKey()),
+                        SqlSurveillanceListener.abreger(plusRepetee.getKey()));
+            }
+        }
+    }
+
+    static String decrire(HttpServletRequest request) {
+        String appel = request.getMethod() + " " + request.getRequestURI();
+        String typeVaadin = request.getParameter("v-r");
+        if (typeVaadin == null) {
+            return appel;
+        }
+        String page = request.getHeader("Referer");
+        try {
+            page = page != null ? URI.create(page).getPath() : "?";
+        } catch (IllegalArgumentException e) {
+            page = "?";
+        }
+        return appel + " [vaadin " + typeVaadin + ", page " + page + "]";
+    }
+}
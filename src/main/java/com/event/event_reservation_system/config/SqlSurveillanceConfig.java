@@ -0,0 +1,61 @@
+package com.event.event_reservation_system.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Surveillance des requêtes SQL : la DataSource est enveloppée par datasource-proxy
+ * pour chronométrer chaque exécution et compter les requêtes par appel HTTP
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.surveillance.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlSurveillanceConfig {
+
+    @Bean
+    public SqlSurveillanceListener sqlSurveillanceListener(
+            MeterRegistry meterRegistry,
+            @Value("${sql.surveillance.seuil-duree:PT0.2S}") Duration seuilDuree) {
+        return new SqlSurveillanceListener(meterRegistry, seuilDuree);
+    }
+
+    // static : post-processeur créé tôt, l'écouteur n'est résolu qu'à l'enveloppement de la DataSource
+    @Bean
+    public static BeanPostProcessor sqlSurveillanceDataSourcePostProcessor(
+            ObjectProvider<SqlSurveillanceListener> sqlSurveillanceListener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(sqlSurveillanceListener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlParRequeteFilter> sqlParRequeteFilter(
+            MeterRegistry meterRegistry,
+            @Value("${sql.surveillance.seuil-requetes:30}") int seuilRequetes) {
+        FilterRegistrationBean<SqlParRequeteFilter> registration =
+                new FilterRegistrationBean<>(new SqlParRequeteFilter(meterRegistry, seuilRequetes));
+        // Avant Spring Security : le chargement de l'utilisateur connecté est compté
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,98 @@
+package com.event.event_reservation_system.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chronomètre chaque exécution SQL (sql.requetes, par type d'ordre), la compte pour l'appel
+ * en cours et journalise les requêtes lentes avec la méthode applicative qui les a déclenchées
+ */
+@Slf4j
+public class SqlSurveillanceListener implements QueryExecutionListener {
+
+    private static final String PACKAGE_APPLICATION = "com.event.event_reservation_system.";
+    private static final int LONGUEUR_SQL_JOURNALISEE = 500;
+    private static final Set<String> CLASSES_SURVEILLANCE = Set.of(SqlSurveillanceListener.class.getName(),
+            StatistiquesSql.class.getName(), SqlParRequeteFilter.class.getName());
+
+    private final MeterRegistry meterRegistry;
+    private final long seuilDureeMillis;
+    private final Counter requetesLentes;
+
+    public SqlSurveillanceListener(MeterRegistry meterRegistry, Duration seuilDuree) {
+        this.meterRegistry = meterRegistry;
+        this.seuilDureeMillis = seuilDuree.toMillis();
+        this.requetesLentes = Counter.builder("sql.requetes.lentes")
+                .description("Requêtes SQL au-delà du seuil de durée")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        long dureeMillis = execInfo.getElapsedTime();
+
+        StatistiquesSql.enregistrer(sql, dureeMillis);
+        Timer.builder("sql.requetes")
+                .description("Durée des exécutions SQL (un lot compte pour une exécution)")
+                .tag("type", type(sql))
+                .register(meterRegistry)
+                .record(dureeMillis, TimeUnit.MILLISECONDS);
+
+        if (dureeMillis >= seuilDureeMillis) {
+            requetesLentes.increment();
+            log.warn("Requête SQL lente ({} ms) depuis {} : {}", dureeMillis, origine(), abreger(sql));
+        }
+    }
+
+    static String type(String sql) {
+        String debut = sql.stripLeading();
+        int fin = 0;
+        while (fin < debut.length() && Character.isLetter(debut.charAt(fin))) {
+            fin++;
+        }
+        return switch (debut.substring(0, fin).toLowerCase(Locale.ROOT)) {
+            case "select", "with" -> "select";
+            case "insert" -> "insert";
+            case "update" -> "update";
+            case "delete" -> "delete";
+            case "merge" -> "merge";
+            default -> "autre";
+        };
+    }
+
+    // Premier cadre applicatif au-dessus de Hibernate et des proxys de dépôt
+    // (calculé seulement pour les requêtes lentes et les requêtes répétées dans un appel)
+    static String origine() {
+        return StackWalker.getInstance().walk(cadres -> cadres
+                .filter(cadre -> cadre.getClassName().startsWith(PACKAGE_APPLICATION)
+                        && !CLASSES_SURVEILLANCE.contains(cadre.getClassName())
+                        && !cadre.getClassName().contains("$$"))
+                .findFirst()
+                .map(cadre -> cadre.getClassName().substring(cadre.getClassName().lastIndexOf('.') + 1)
+                        + "." + cadre.getMethodName())
+                .orElse("inconnue"));
+    }
+
+    static String abreger(String sql) {
+        String uneLigne = sql.replaceAll("\\s+", " ").trim();
+        return uneLigne.length() > LONGUEUR_SQL_JOURNALISEE
+                ? uneLigne.substring(0, LONGUEUR_SQL_JOURNALISEE) + "…"
+                : uneLigne;
+    }
+}
@@ -0,0 +1,76 @@
+package com.event.event_reservation_system.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compteurs des requêtes SQL exécutées pendant l'appel HTTP (ou Vaadin) en cours sur ce thread
+ */
+final class StatistiquesSql {
+
+    private static final ThreadLocal<StatistiquesSql> COURANTES = new ThreadLocal<>();
+
+    // Au-delà, les requêtes nouvelles ne sont plus détaillées (le total reste exact)
+    private static final int REQUETES_DISTINCTES_MAX = 200;
+
+    private final Map<String, Integer> parRequete = new HashMap<>();
+    // Origine applicative relevée à la première répétition (pile parcourue une fois par requête répétée)
+    private final Map<String, String> origines = new HashMap<>();
+    private int nombre;
+    private long dureeMillis;
+
+    private StatistiquesSql() {
+    }
+
+    static StatistiquesSql demarrer() {
+        StatistiquesSql statistiques = new StatistiquesSql();
+        COURANTES.set(statistiques);
+        return statistiques;
+    }
+
+    static void terminer() {
+        COURANTES.remove();
+    }
+
+    /**
+     * Comptabilise une exécution, sans effet hors d'un appel suivi
+     */
+    static void enregistrer(String sql, long dureeMillis) {
+        StatistiquesSql statistiques = COURANTES.get();
+        if (statistiques == null) {
+            return;
+        }
+        statistiques.nombre++;
+        statistiques.dureeMillis += dureeMillis;
+        if (statistiques.parRequete.size() < REQUETES_DISTINCTES_MAX || statistiques.parRequete.containsKey(sql)) {
+            int executions = statistiques.parRequete.merge(sql, 1, Integer::sum);
+            if (executions == 2) {
+                statistiques.origines.put(sql, SqlSurveillanceListener.origine());
+            }
+        }
+    }
+
+    int getNombre() {
+        return nombre;
+    }
+
+    long getDureeMillis() {
+        return dureeMillis;
+    }
+
+    /**
+     * Requête la plus répétée : signe typique d'un N+1
+     */
+    Map.Entry<String, Integer> plusRepetee() {
+        return parRequete.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(Map.entry("", 0));
+    }
+
+    /**
+     * Méthode applicative ayant répété la requête, « inconnue » si elle n'a été exécutée qu'une fois
+     */
+    String origine(String sql) {
+        return origines.getOrDefault(sql, "inconnue");
+    }
+}
@@ -0,0 +1,27 @@
+package com.event.event_reservation_system.dto;
+
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.Statut;
+
+import java.time.LocalDateTime;
+
+/**
+ * Champs d'un événement utilisés par l'index de facettes du catalogue
+ */
+public record CatalogueEntry(
+        Long id,
+        Categorie categorie,
+        String ville,
+        Double prixUnitaire,
+        LocalDateTime dateDebut,
+        LocalDateTime dateFin,
+        Statut statut
+) {
+    public static CatalogueEntry of(Event event) {
+        return new CatalogueEntry(
+                event.getId(), event.getCategorie(), event.getVille(), event.getPrixUnitaire(),
+                event.getDateDebut(), event.getDateFin(), event.getStatut()
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package com.event.event_reservation_system.dto;
+
+import com.event.event_reservation_system.modele.Categorie;
+
+import java.util.Map;
+
+/**
+ * Nombre d'événements disponibles pour les filtres courants et pour chaque valeur de facette
+ * (chaque facette est comptée avec tous les autres filtres appliqués)
+ */
+public record CatalogueFacettes(
+        int total,
+        Map<Categorie, Integer> categories,
+        Map<String, Integer> villes,
+        Map<String, Integer> tranchesPrix
+) {
+}
@@ -0,0 +1,21 @@
+package com.event.event_reservation_system.dto;
+
+import com.event.event_reservation_system.modele.Categorie;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtres du catalogue public (mêmes règles que EventRepository.AVAILABLE_FILTERS_WHERE)
+ */
+public record CatalogueFiltre(
+        Categorie categorie,
+        String ville,
+        Double minPrix,
+        Double maxPrix,
+        LocalDateTime dateDebut,
+        LocalDateTime dateFin
+) {
+    public static CatalogueFiltre vide() {
+        return new CatalogueFiltre(null, null, null, null, null, null);
+    }
+}
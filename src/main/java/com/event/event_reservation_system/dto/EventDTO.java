@@ -5,17 +5,16 @@ import com.event.event_reservation_system.modele.Event;
 import com.event.event_reservation_system.modele.Statut;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
 import java.time.LocalDateTime;
 
 /**
- * DTO pour transférer les données d'événement sans les relations lazy
+ * DTO pour transférer les données d'événement sans les relations lazy.
+ * Immuable : les mêmes instances sont partagées entre sessions par les caches du catalogue.
  */
-@Data
+@Value
 @Builder
-@NoArgsConstructor
 @AllArgsConstructor
 public class EventDTO {
 
@@ -33,6 +32,7 @@ public class EventDTO {
     private Statut statut;
     private String organisateurNom;
     private String organisateurEmail;
+    private String organisateurTelephone;
     private Integer placesReservees;
     private Integer placesDisponibles;
 
@@ -55,6 +55,7 @@ public class EventDTO {
                 .statut(event.getStatut())
                 .organisateurNom(event.getOrganisateur().getNomComplet())
                 .organisateurEmail(event.getOrganisateur().getEmail())
+                .organisateurTelephone(event.getOrganisateur().getTelephone())
                 .placesReservees(placesReservees)
                 .placesDisponibles(event.getCapaciteMax() - placesReservees)
                 .build();
@@ -0,0 +1,34 @@
+package com.event.event_reservation_system.dto;
+
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.Statut;
+
+import java.time.LocalDateTime;
+
+/**
+ * Champs d'un événement indexés pour la recherche plein texte :
+ * textes interrogés, plus les champs des filtres et tris du catalogue
+ * (places réservées comprises, pour le tri par popularité)
+ */
+public record EventSearchDocument(
+        Long id,
+        String titre,
+        String description,
+        String lieu,
+        String ville,
+        Categorie categorie,
+        Double prixUnitaire,
+        LocalDateTime dateDebut,
+        LocalDateTime dateFin,
+        Statut statut,
+        Integer placesReservees
+) {
+    public static EventSearchDocument of(Event event) {
+        return new EventSearchDocument(
+                event.getId(), event.getTitre(), event.getDescription(), event.getLieu(), event.getVille(),
+                event.getCategorie(), event.getPrixUnitaire(), event.getDateDebut(), event.getDateFin(),
+                event.getStatut(), event.getPlacesReservees()
+        );
+    }
+}
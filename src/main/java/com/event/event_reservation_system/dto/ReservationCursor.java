@@ -0,0 +1,18 @@
+package com.event.event_reservation_system.dto;
+
+import com.event.event_reservation_system.modele.Reservation;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position de pagination par clé (keyset) : dernière réservation lue,
+ * dans l'ordre dateReservation DESC, id DESC
+ */
+public record ReservationCursor(
+        LocalDateTime dateReservation,
+        Long id
+) {
+    public static ReservationCursor of(Reservation reservation) {
+        return new ReservationCursor(reservation.getDateReservation(), reservation.getId());
+    }
+}
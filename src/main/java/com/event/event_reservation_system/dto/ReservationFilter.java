@@ -0,0 +1,22 @@
+package com.event.event_reservation_system.dto;
+
+import com.event.event_reservation_system.modele.StatutReservation;
+
+import java.time.LocalDate;
+
+/**
+ * Critères de recherche des réservations (vue d'administration).
+ * Un critère null ou vide est ignoré.
+ */
+public record ReservationFilter(
+        StatutReservation statut,
+        String code,
+        String utilisateur,
+        String evenement,
+        LocalDate du,
+        LocalDate au
+) {
+    public static ReservationFilter vide() {
+        return new ReservationFilter(null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.event.event_reservation_system.dto;
+
+/**
+ * Statistiques agrégées des réservations correspondant à un filtre
+ */
+public record ReservationStats(
+        long total,
+        long enAttente,
+        long confirmees,
+        long annulees,
+        long aVenir,
+        double revenuConfirme
+) {
+}
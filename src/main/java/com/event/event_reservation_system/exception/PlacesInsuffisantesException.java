@@ -0,0 +1,8 @@
+package com.event.event_reservation_system.exception;
+
+// Événement complet ou places restantes insuffisantes pour la demande
+public class PlacesInsuffisantesException extends BusinessException {
+    public PlacesInsuffisantesException(String message) {
+        super(message);
+    }
+}
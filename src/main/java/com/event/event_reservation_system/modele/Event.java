@@ -2,19 +2,28 @@ package com.event.event_reservation_system.modele;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import com.event.event_reservation_system.service.EventIndexListener;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "events")
+@EntityListeners(EventIndexListener.class)
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_statut_date_fin", columnList = "statut, date_fin"),
+        @Index(name = "idx_events_categorie_statut", columnList = "categorie, statut"),
+        @Index(name = "idx_events_organisateur", columnList = "organisateur_id"),
+        @Index(name = "idx_events_statut_score", columnList = "statut, score_popularite DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Event {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_id_gen")
+    @SequenceGenerator(name = "events_id_gen", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Le titre est obligatoire")
@@ -60,6 +69,20 @@ public class Event {
 
     private String imageUrl;
 
+    // Compteur dénormalisé des places EN_ATTENTE + CONFIRMEE,
+    // maintenu uniquement par les requêtes atomiques de EventRepository
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer placesReservees = 0;
+
+    // Somme pondérée par l'âge des places confirmées récentes,
+    // maintenue uniquement par PopulariteService
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Double scorePopularite = 0.0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organisateur_id", nullable = false)
     @ToString.Exclude
@@ -95,8 +118,9 @@ public class Event {
         return statut == Statut.PUBLIE;
     }
 
+    // Le statut est tenu à jour par EvenementsTerminesJob
     public boolean isTermine() {
-        return statut == Statut.TERMINE || LocalDateTime.now().isAfter(dateFin);
+        return statut == Statut.TERMINE;
     }
 
     public boolean isAnnule() {
@@ -108,14 +132,7 @@ public class Event {
     }
 
     public int getPlacesReservees() {
-        if (reservations == null || !org.hibernate.Hibernate.isInitialized(reservations)) {
-            return 0;
-        }
-        return reservations.stream()
-                .filter(r -> r.getStatut() == StatutReservation.CONFIRMEE ||
-                        r.getStatut() == StatutReservation.EN_ATTENTE)
-                .mapToInt(Reservation::getNombrePlaces)
-                .sum();
+        return placesReservees != null ? placesReservees : 0;
     }
 
     public int getPlacesDisponibles() {
@@ -0,0 +1,27 @@
+package com.event.event_reservation_system.modele;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bail d'exécution d'une tâche planifiée, partagé entre les instances via la base
+ */
+@Entity
+@Table(name = "job_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLock {
+    @Id
+    @Column(length = 64)
+    private String nom;
+
+    @Column(nullable = false)
+    private LocalDateTime verrouilleJusqua;
+
+    @Column(nullable = false)
+    private String verrouillePar;
+}
@@ -0,0 +1,24 @@
+package com.event.event_reservation_system.modele;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Origine des poids du score de popularité (ligne unique), partagée entre les instances
+ */
+@Entity
+@Table(name = "popularite_origine")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OriginePopularite {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private LocalDateTime origine;
+}
@@ -7,14 +7,20 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_evenement_statut", columnList = "evenement_id, statut"),
+        @Index(name = "idx_reservations_utilisateur_date", columnList = "utilisateur_id, date_reservation"),
+        @Index(name = "idx_reservations_date", columnList = "date_reservation, id"),
+        @Index(name = "idx_reservations_evenement_date", columnList = "evenement_id, date_reservation, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Reservation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_id_gen")
+    @SequenceGenerator(name = "reservations_id_gen", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
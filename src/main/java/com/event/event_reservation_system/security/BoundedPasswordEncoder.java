@@ -0,0 +1,89 @@
+package com.event.event_reservation_system.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Exécute les hachages d'un encodeur sur un pool dédié de taille fixe : les pics de
+ * connexions ne mobilisent pas plus de cœurs que le pool n'a de threads, et au-delà
+ * de la file d'attente les tentatives échouent immédiatement au lieu de s'accumuler.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Executor executor;
+    private final Duration delaiMax;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, Executor executor, Duration delaiMax) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.delaiMax = delaiMax;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return attendre(encodeAsync(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return attendre(matchesAsync(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Simple lecture du préfixe et du coût : pas de hachage
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Encode un mot de passe sans bloquer l'appelant
+     */
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        return soumettre(() -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Vérifie un mot de passe sans bloquer l'appelant
+     */
+    public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword) {
+        return soumettre(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> CompletableFuture<T> soumettre(Supplier<T> calcul) {
+        try {
+            return CompletableFuture.supplyAsync(calcul, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("File de hachage des mots de passe pleine, tentative refusée");
+            throw new AuthenticationServiceException("Service momentanément saturé, veuillez réessayer", e);
+        }
+    }
+
+    private <T> T attendre(CompletableFuture<T> resultat) {
+        try {
+            return resultat.get(delaiMax.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            resultat.cancel(false);
+            throw new AuthenticationServiceException("Délai de vérification du mot de passe dépassé", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Vérification du mot de passe interrompue", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.event.event_reservation_system.security;
+
+import com.event.event_reservation_system.modele.Role;
+import com.event.event_reservation_system.modele.User;
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * Utilisateur connecté conservé en session : de quoi afficher les en-têtes
+ * et identifier l'utilisateur sans relire la base à chaque navigation
+ */
+@Value
+public class CurrentUser implements Serializable {
+
+    Long id;
+    String email;
+    String prenom;
+    String nom;
+    Role role;
+    // Génération des modifications d'utilisateurs au moment du chargement
+    long generation;
+
+    static CurrentUser of(User user, long generation) {
+        return new CurrentUser(user.getId(), user.getEmail(), user.getPrenom(),
+                user.getNom(), user.getRole(), generation);
+    }
+
+    public String getNomComplet() {
+        return prenom + " " + nom;
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+
+    public boolean isOrganizer() {
+        return role == Role.ORGANIZER || role == Role.ADMIN;
+    }
+}
@@ -4,9 +4,11 @@ package com.event.event_reservation_system.security;
 import com.event.event_reservation_system.Repositories.UserRepository;
 import com.event.event_reservation_system.modele.User;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -17,7 +19,8 @@ import java.util.Collections;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
 
     @Override
@@ -43,6 +46,20 @@ public class CustomUserDetailsService implements UserDetailsService {
         );
     }
 
+    /**
+     * Réenregistre un hachage obsolète (algorithme ou coût) après une connexion réussie
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.mettreAJourMotDePasse(user.getUsername(), newPassword);
+        log.info("Hachage du mot de passe mis à niveau pour: {}", user.getUsername());
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
     private Collection<? extends GrantedAuthority> getAuthorities(User user) {
         return Collections.singletonList(
                 new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
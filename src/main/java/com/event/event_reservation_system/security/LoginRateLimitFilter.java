@@ -0,0 +1,43 @@
+package com.event.event_reservation_system.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Refuse les soumissions du formulaire de connexion au-delà des limites de
+ * LoginRateLimiter, avant toute lecture en base ou vérification de mot de passe.
+ * L'adresse distante est celle du client : derrière un proxy de confiance, la valve
+ * RemoteIpValve (server.forward-headers-strategy=native) l'a déjà lue dans X-Forwarded-For.
+ */
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final RequestMatcher SOUMISSION_CONNEXION = new AntPathRequestMatcher("/login", "POST");
+
+    private final LoginRateLimiter loginRateLimiter;
+
+    public LoginRateLimitFilter(LoginRateLimiter loginRateLimiter) {
+        this.loginRateLimiter = loginRateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !SOUMISSION_CONNEXION.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (loginRateLimiter.autoriser(request.getParameter("username"), request.getRemoteAddr())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.sendRedirect(request.getContextPath() + "/login?error&limite");
+    }
+}
@@ -0,0 +1,133 @@
+package com.event.event_reservation_system.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limiteur de tentatives de connexion par seau à jetons, par email et par adresse IP.
+ * Les seaux vivent dans des caches Caffeine bornés (éviction des clés les moins utiles),
+ * si bien qu'un flot de clés aléatoires ne fait pas croître la mémoire ; chaque seau
+ * est un unique long mis à jour par compare-and-set.
+ */
+@Component
+@Slf4j
+public class LoginRateLimiter {
+
+    private final Cache<String, TokenBucket> seauxEmail;
+    private final Cache<String, TokenBucket> seauxIp;
+    private final int capaciteEmail;
+    private final long intervalleEmailNanos;
+    private final int capaciteIp;
+    private final long intervalleIpNanos;
+    private final LongSupplier horloge;
+
+    private final AtomicLong rejetsEmail = new AtomicLong();
+    private final AtomicLong rejetsIp = new AtomicLong();
+
+    @Autowired
+    public LoginRateLimiter(@Value("${securite.connexion.email.capacite:5}") int capaciteEmail,
+                            @Value("${securite.connexion.email.recharge:PT1M}") Duration rechargeEmail,
+                            @Value("${securite.connexion.ip.capacite:30}") int capaciteIp,
+                            @Value("${securite.connexion.ip.recharge:PT2S}") Duration rechargeIp,
+                            @Value("${securite.connexion.cles-max:100000}") long clesMax) {
+        this(capaciteEmail, rechargeEmail, capaciteIp, rechargeIp, clesMax, System::nanoTime);
+    }
+
+    LoginRateLimiter(int capaciteEmail, Duration rechargeEmail, int capaciteIp, Duration rechargeIp,
+                     long clesMax, LongSupplier horloge) {
+        this.capaciteEmail = capaciteEmail;
+        this.intervalleEmailNanos = rechargeEmail.toNanos();
+        this.capaciteIp = capaciteIp;
+        this.intervalleIpNanos = rechargeIp.toNanos();
+        this.horloge = horloge;
+        // Un seau inutilisé depuis son temps de remplissage complet est plein : inutile de le garder
+        this.seauxEmail = Caffeine.newBuilder()
+                .maximumSize(clesMax)
+                .expireAfterAccess(rechargeEmail.multipliedBy(capaciteEmail))
+                .build();
+        this.seauxIp = Caffeine.newBuilder()
+                .maximumSize(clesMax)
+                .expireAfterAccess(rechargeIp.multipliedBy(capaciteIp))
+                .build();
+    }
+
+    /**
+     * Consomme un jeton pour l'adresse IP puis pour l'email
+     * @param ip adresse du client, ou null si inconnue
+     * @return false si l'une des deux limites est atteinte
+     */
+    public boolean autoriser(String email, String ip) {
+        long now = horloge.getAsLong();
+
+        if (ip != null && !seauxIp.get(ip, cle -> new TokenBucket()).consommer(now, intervalleIpNanos, capaciteIp)) {
+            if (rejetsIp.incrementAndGet() % 100 == 1) {
+                log.warn("Tentatives de connexion limitées pour l'adresse {} ({} rejet(s) par IP au total)",
+                        ip, rejetsIp.get());
+            }
+            return false;
+        }
+
+        String cleEmail = email != null ? email.trim().toLowerCase(Locale.ROOT) : "";
+        if (!seauxEmail.get(cleEmail, cle -> new TokenBucket()).consommer(now, intervalleEmailNanos, capaciteEmail)) {
+            if (rejetsEmail.incrementAndGet() % 100 == 1) {
+                log.warn("Tentatives de connexion limitées pour un compte ({} rejet(s) par email au total)",
+                        rejetsEmail.get());
+            }
+            return false;
+        }
+        return true;
+    }
+
+    public long getRejetsEmail() {
+        return rejetsEmail.get();
+    }
+
+    public long getRejetsIp() {
+        return rejetsIp.get();
+    }
+
+    /**
+     * Nombre de seaux actuellement conservés (email + IP)
+     */
+    public long getNombreCles() {
+        return seauxEmail.estimatedSize() + seauxIp.estimatedSize();
+    }
+
+    // Caffeine évince de façon différée : force l'application des bornes
+    void nettoyer() {
+        seauxEmail.cleanUp();
+        seauxIp.cleanUp();
+    }
+
+    /**
+     * Seau à jetons sous forme GCRA : l'état est l'instant théorique d'arrivée
+     * de la prochaine requête conforme
+     */
+    static final class TokenBucket {
+        private final AtomicLong prochaineArrivee = new AtomicLong(Long.MIN_VALUE);
+
+        boolean consommer(long now, long intervalleNanos, int capacite) {
+            long tolerance = intervalleNanos * capacite;
+            while (true) {
+                long courant = prochaineArrivee.get();
+                long base = courant == Long.MIN_VALUE || courant - now < 0 ? now : courant;
+                long suivant = base + intervalleNanos;
+                if (suivant - now > tolerance) {
+                    return false;
+                }
+                if (prochaineArrivee.compareAndSet(courant, suivant)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.event.event_reservation_system.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Encodage des mots de passe : algorithme et coût choisis par configuration,
+ * calculs exécutés sur un pool borné dédié.
+ * Les hachages sans préfixe {id} (jeu de données initial) sont lus comme du BCrypt
+ * et réencodés avec l'algorithme courant à la connexion suivante.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    static final String BCRYPT = "bcrypt";
+    static final String ARGON2 = "argon2";
+    static final String PBKDF2 = "pbkdf2";
+
+    @Value("${securite.mot-de-passe.algorithme:bcrypt}")
+    private String algorithme;
+
+    @Value("${securite.mot-de-passe.bcrypt.force:10}")
+    private int bcryptForce;
+
+    @Value("${securite.mot-de-passe.argon2.memoire-kio:19456}")
+    private int argon2MemoireKio;
+
+    @Value("${securite.mot-de-passe.argon2.iterations:2}")
+    private int argon2Iterations;
+
+    @Value("${securite.mot-de-passe.hachage.threads:0}")
+    private int threads;
+
+    @Value("${securite.mot-de-passe.hachage.file-attente:64}")
+    private int fileAttente;
+
+    @Value("${securite.mot-de-passe.hachage.delai-max:PT5S}")
+    private Duration delaiMax;
+
+    @Bean
+    public PasswordEncoder passwordEncoder(ThreadPoolExecutor hachageExecutor) {
+        return new BoundedPasswordEncoder(
+                delegatingPasswordEncoder(algorithme, bcryptForce, argon2MemoireKio, argon2Iterations),
+                hachageExecutor, delaiMax);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor hachageExecutor() {
+        int taille = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new ThreadPoolExecutor(taille, taille, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fileAttente), threadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Encodeur délégant dont l'algorithme d'encodage est {@code algorithme}
+     */
+    public static DelegatingPasswordEncoder delegatingPasswordEncoder(String algorithme, int bcryptForce,
+                                                                     int argon2MemoireKio, int argon2Iterations) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptForce);
+
+        Map<String, PasswordEncoder> encodeurs = new HashMap<>();
+        encodeurs.put(BCRYPT, bcrypt);
+        encodeurs.put(ARGON2, new Argon2PasswordEncoder(16, 32, 1, argon2MemoireKio, argon2Iterations));
+        encodeurs.put(PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encodeurs.containsKey(algorithme)) {
+            throw new IllegalArgumentException("Algorithme de hachage inconnu: " + algorithme);
+        }
+
+        DelegatingPasswordEncoder encodeur = new DelegatingPasswordEncoder(algorithme, encodeurs);
+        encodeur.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encodeur;
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger compteur = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "hachage-mdp-" + compteur.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
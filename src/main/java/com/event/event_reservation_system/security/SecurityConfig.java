@@ -11,10 +11,9 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.SavedRequestAwareAuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
 import java.io.IOException;
@@ -28,6 +27,9 @@ public class SecurityConfig extends VaadinWebSecurity {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     @Override
     protected void configure(HttpSecurity http) throws Exception {
 
@@ -43,6 +45,10 @@ public class SecurityConfig extends VaadinWebSecurity {
                         "/h2-console/**"
                 ).permitAll()
 
+                // Sondes et collecte Prometheus (port de gestion interne), le reste réservé aux admins
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                 .requestMatchers("/admin/**").hasRole("ADMIN")
                 .requestMatchers("/organizer/**").hasAnyRole("ORGANIZER", "ADMIN")
         );
@@ -59,6 +65,10 @@ public class SecurityConfig extends VaadinWebSecurity {
                 .permitAll()
         );
 
+        // Limitation des tentatives avant l'authentification
+        http.addFilterBefore(new LoginRateLimitFilter(loginRateLimiter),
+                UsernamePasswordAuthenticationFilter.class);
+
         // UserDetailsService
         http.userDetailsService(customUserDetailsService);
 
@@ -66,11 +76,6 @@ public class SecurityConfig extends VaadinWebSecurity {
         super.configure(http);
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     @Bean
     public AuthenticationSuccessHandler customSuccessHandler() {
         return new SavedRequestAwareAuthenticationSuccessHandler() {
@@ -3,27 +3,74 @@ package com.event.event_reservation_system.security;
 
 import com.event.event_reservation_system.Repositories.UserRepository;
 import com.event.event_reservation_system.modele.User;
+import com.event.event_reservation_system.service.UtilisateurModifie;
 import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 @RequiredArgsConstructor
 public class SecurityUtils {
+    private static final String ATTRIBUT_SESSION = CurrentUser.class.getName() + ".";
+
     private final UserRepository userRepository;
 
+    // Incrémentée à chaque modification d'un utilisateur : les principaux
+    // chargés avant sont relus à leur prochain accès
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Récupère l'utilisateur connecté, conservé dans la session Vaadin
+     */
+    public Optional<CurrentUser> getCurrentPrincipal() {
+        Optional<String> username = getAuthenticatedUsername();
+        if (username.isEmpty()) {
+            return Optional.empty();
+        }
+
+        VaadinSession session = VaadinSession.getCurrent();
+        String attribut = ATTRIBUT_SESSION + username.get();
+        CurrentUser enSession = session != null ? (CurrentUser) session.getAttribute(attribut) : null;
+        long generationCourante = generation.get();
+        if (enSession != null && enSession.getGeneration() == generationCourante) {
+            return Optional.of(enSession);
+        }
+
+        // Relecture par identifiant : l'email peut avoir changé depuis la connexion
+        Optional<CurrentUser> principal = (enSession != null
+                ? userRepository.findById(enSession.getId())
+                : userRepository.findByEmail(username.get()))
+                .filter(User::getActif)
+                .map(user -> CurrentUser.of(user, generationCourante));
+        if (session != null) {
+            session.setAttribute(attribut, principal.orElse(null));
+        }
+        return principal;
+    }
+
     /**
-     * Récupère l'utilisateur actuellement connecté
+     * Récupère l'entité de l'utilisateur connecté (pour les écrans qui en ont besoin en entier)
      */
     public Optional<User> getCurrentUser() {
-        return getAuthenticatedUsername()
-                .flatMap(userRepository::findByEmail);
+        return getCurrentPrincipal()
+                .flatMap(principal -> userRepository.findById(principal.getId()));
+    }
+
+    /**
+     * Invalide les principaux en session après la modification d'un utilisateur
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUtilisateurModifie(UtilisateurModifie event) {
+        generation.incrementAndGet();
     }
 
     /**
@@ -0,0 +1,504 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.dto.CatalogueEntry;
+import com.event.event_reservation_system.dto.CatalogueFacettes;
+import com.event.event_reservation_system.dto.CatalogueFiltre;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Statut;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index en mémoire des événements publiés et non terminés, pour compter les facettes
+ * du catalogue (catégorie, ville, tranche de prix) sans requête en base.
+ * <p>
+ * Chaque événement occupe un emplacement (slot) dans des tableaux primitifs ;
+ * un bitset (long[]) par catégorie, ville et tranche de prix permet de compter
+ * une combinaison de filtres par ET binaire et popcount.
+ * Coût mémoire : ~37 octets par événement plus (catégories + villes + tranches) bits par emplacement.
+ */
+@Component
+@Slf4j
+public class CatalogueFacetIndex {
+
+    static final List<String> TRANCHES_PRIX = List.of(
+            "Gratuit", "Moins de 100", "100 à 200", "200 à 500", "500 et plus"
+    );
+    private static final int NB_CATEGORIES = Categorie.values().length;
+    private static final int CAPACITE_INITIALE = 1024;
+
+    private final int capaciteMax;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Colonnes, indexées par emplacement
+    private long[] ids;
+    private byte[] categories;
+    private int[] villes;
+    private double[] prix;
+    private long[] debuts;
+    private long[] fins;
+
+    // Bitsets, un bit par emplacement
+    private long[] actifs;
+    private long[][] parCategorie;
+    private long[][] parTranche;
+    private final List<long[]> parVille = new ArrayList<>();
+
+    // Dictionnaire des villes (clé en minuscules, libellé d'origine)
+    private final Map<String, Integer> codesVilles = new HashMap<>();
+    private final List<String> nomsVilles = new ArrayList<>();
+
+    private final LongIntMap slots = new LongIntMap();
+    private int[] slotsLibres = new int[64];
+    private int nbSlotsLibres;
+    private int prochainSlot;
+    private int capacite;
+    private long prochaineExpiration = Long.MAX_VALUE;
+
+    public CatalogueFacetIndex(@Value("${catalogue.index.capacite-max:1000000}") int capaciteMax) {
+        this.capaciteMax = capaciteMax;
+        reinitialiser();
+    }
+
+    /**
+     * Remplace tout le contenu de l'index
+     */
+    public void reconstruire(Iterable<CatalogueEntry> entries) {
+        lock.writeLock().lock();
+        try {
+            reinitialiser();
+            for (CatalogueEntry entry : entries) {
+                if (estDisponible(entry, secondes(LocalDateTime.now()))) {
+                    ajouterOuRemplacer(entry);
+                }
+            }
+            log.info("Index des facettes du catalogue reconstruit: {} événements", slots.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute, met à jour ou retire un événement selon son statut et sa date de fin
+     */
+    public void mettreAJour(CatalogueEntry entry) {
+        lock.writeLock().lock();
+        try {
+            if (estDisponible(entry, secondes(LocalDateTime.now()))) {
+                ajouterOuRemplacer(entry);
+            } else {
+                retirerSlot(entry.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire un événement de l'index
+     */
+    public void retirer(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            retirerSlot(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compte les événements disponibles pour le filtre et chaque valeur de facette
+     */
+    public CatalogueFacettes facettes(CatalogueFiltre filtre, LocalDateTime now) {
+        long maintenant = secondes(now);
+        purgerSiNecessaire(maintenant);
+
+        lock.readLock().lock();
+        try {
+            long[] base = Arrays.copyOf(actifs, actifs.length);
+            if (filtre.minPrix() != null || filtre.maxPrix() != null
+                    || filtre.dateDebut() != null || filtre.dateFin() != null) {
+                filtrerParPlages(base, filtre);
+            }
+
+            long[] masqueCategorie = filtre.categorie() != null ? parCategorie[filtre.categorie().ordinal()] : null;
+            long[] masqueVille = null;
+            if (filtre.ville() != null) {
+                Integer code = codesVilles.get(cleVille(filtre.ville()));
+                // Ville inconnue : aucun événement ne correspond
+                masqueVille = code != null ? parVille.get(code) : new long[base.length];
+            }
+
+            Map<Categorie, Integer> parCategorieCompte = new EnumMap<>(Categorie.class);
+            for (Categorie categorie : Categorie.values()) {
+                parCategorieCompte.put(categorie, cardinalite(base, masqueVille, parCategorie[categorie.ordinal()], null));
+            }
+
+            Map<String, Integer> parVilleCompte = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (int code = 0; code < parVille.size(); code++) {
+                int compte = cardinalite(base, masqueCategorie, parVille.get(code), null);
+                if (compte > 0) {
+                    parVilleCompte.put(nomsVilles.get(code), compte);
+                }
+            }
+
+            Map<String, Integer> parTrancheCompte = new LinkedHashMap<>();
+            for (int tranche = 0; tranche < TRANCHES_PRIX.size(); tranche++) {
+                parTrancheCompte.put(TRANCHES_PRIX.get(tranche),
+                        cardinalite(base, masqueCategorie, masqueVille, parTranche[tranche]));
+            }
+
+            int total = cardinalite(base, masqueCategorie, masqueVille, null);
+            return new CatalogueFacettes(total, parCategorieCompte, parVilleCompte, parTrancheCompte);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre d'événements indexés
+     */
+    public int taille() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ----------------- Écriture (verrou d'écriture tenu) -----------------
+
+    private void reinitialiser() {
+        capacite = 0;
+        ids = new long[0];
+        categories = new byte[0];
+        villes = new int[0];
+        prix = new double[0];
+        debuts = new long[0];
+        fins = new long[0];
+        actifs = new long[0];
+        parCategorie = new long[NB_CATEGORIES][0];
+        parTranche = new long[TRANCHES_PRIX.size()][0];
+        parVille.clear();
+        codesVilles.clear();
+        nomsVilles.clear();
+        slots.clear();
+        nbSlotsLibres = 0;
+        prochainSlot = 0;
+        prochaineExpiration = Long.MAX_VALUE;
+        agrandir(CAPACITE_INITIALE);
+    }
+
+    private void ajouterOuRemplacer(CatalogueEntry entry) {
+        int slot = slots.get(entry.id());
+        if (slot >= 0) {
+            effacerBits(slot);
+        } else {
+            slot = allouerSlot();
+            if (slot < 0) {
+                log.warn("Index des facettes plein ({} événements), événement {} ignoré", capaciteMax, entry.id());
+                return;
+            }
+            slots.put(entry.id(), slot);
+        }
+
+        ids[slot] = entry.id();
+        categories[slot] = (byte) entry.categorie().ordinal();
+        villes[slot] = codeVille(entry.ville());
+        prix[slot] = entry.prixUnitaire();
+        debuts[slot] = secondes(entry.dateDebut());
+        fins[slot] = secondes(entry.dateFin());
+
+        activer(actifs, slot);
+        activer(parCategorie[categories[slot]], slot);
+        activer(parTranche[tranche(prix[slot])], slot);
+        activer(parVille.get(villes[slot]), slot);
+        prochaineExpiration = Math.min(prochaineExpiration, fins[slot]);
+    }
+
+    private void retirerSlot(Long eventId) {
+        int slot = slots.remove(eventId);
+        if (slot < 0) {
+            return;
+        }
+        effacerBits(slot);
+        if (nbSlotsLibres == slotsLibres.length) {
+            slotsLibres = Arrays.copyOf(slotsLibres, slotsLibres.length * 2);
+        }
+        slotsLibres[nbSlotsLibres++] = slot;
+    }
+
+    private void effacerBits(int slot) {
+        desactiver(actifs, slot);
+        desactiver(parCategorie[categories[slot]], slot);
+        desactiver(parTranche[tranche(prix[slot])], slot);
+        desactiver(parVille.get(villes[slot]), slot);
+    }
+
+    private int allouerSlot() {
+        if (nbSlotsLibres > 0) {
+            return slotsLibres[--nbSlotsLibres];
+        }
+        if (prochainSlot == capacite) {
+            if (capacite >= capaciteMax) {
+                return -1;
+            }
+            agrandir((int) Math.min((long) capacite * 2, capaciteMax));
+        }
+        return prochainSlot++;
+    }
+
+    private void agrandir(int nouvelleCapacite) {
+        capacite = nouvelleCapacite;
+        ids = Arrays.copyOf(ids, capacite);
+        categories = Arrays.copyOf(categories, capacite);
+        villes = Arrays.copyOf(villes, capacite);
+        prix = Arrays.copyOf(prix, capacite);
+        debuts = Arrays.copyOf(debuts, capacite);
+        fins = Arrays.copyOf(fins, capacite);
+
+        int mots = (capacite + 63) >>> 6;
+        actifs = Arrays.copyOf(actifs, mots);
+        for (int i = 0; i < parCategorie.length; i++) {
+            parCategorie[i] = Arrays.copyOf(parCategorie[i], mots);
+        }
+        for (int i = 0; i < parTranche.length; i++) {
+            parTranche[i] = Arrays.copyOf(parTranche[i], mots);
+        }
+        parVille.replaceAll(bits -> Arrays.copyOf(bits, mots));
+    }
+
+    private int codeVille(String ville) {
+        return codesVilles.computeIfAbsent(cleVille(ville), cle -> {
+            nomsVilles.add(ville);
+            parVille.add(new long[actifs.length]);
+            return nomsVilles.size() - 1;
+        });
+    }
+
+    // Les événements terminés sortent de l'index dès que l'horloge dépasse la première date de fin
+    private void purgerSiNecessaire(long maintenant) {
+        lock.readLock().lock();
+        try {
+            if (maintenant < prochaineExpiration) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            long prochaine = Long.MAX_VALUE;
+            for (int mot = 0; mot < actifs.length; mot++) {
+                long bits = actifs[mot];
+                while (bits != 0) {
+                    int slot = (mot << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (fins[slot] <= maintenant) {
+                        retirerSlot(ids[slot]);
+                    } else {
+                        prochaine = Math.min(prochaine, fins[slot]);
+                    }
+                }
+            }
+            prochaineExpiration = prochaine;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ----------------- Lecture -----------------
+
+    private void filtrerParPlages(long[] base, CatalogueFiltre filtre) {
+        double min = filtre.minPrix() != null ? filtre.minPrix() : Double.NEGATIVE_INFINITY;
+        double max = filtre.maxPrix() != null ? filtre.maxPrix() : Double.POSITIVE_INFINITY;
+        long debutMin = filtre.dateDebut() != null ? secondes(filtre.dateDebut()) : Long.MIN_VALUE;
+        long finMax = filtre.dateFin() != null ? secondes(filtre.dateFin()) : Long.MAX_VALUE;
+
+        for (int mot = 0; mot < base.length; mot++) {
+            long bits = base[mot];
+            while (bits != 0) {
+                long bit = bits & -bits;
+                int slot = (mot << 6) + Long.numberOfTrailingZeros(bits);
+                bits ^= bit;
+                if (prix[slot] < min || prix[slot] > max || debuts[slot] < debutMin || fins[slot] > finMax) {
+                    base[mot] &= ~bit;
+                }
+            }
+        }
+    }
+
+    private static int cardinalite(long[] base, long[] a, long[] b, long[] c) {
+        int total = 0;
+        for (int i = 0; i < base.length; i++) {
+            long mot = base[i];
+            if (a != null) {
+                mot &= a[i];
+            }
+            if (b != null) {
+                mot &= b[i];
+            }
+            if (c != null) {
+                mot &= c[i];
+            }
+            total += Long.bitCount(mot);
+        }
+        return total;
+    }
+
+    private static void activer(long[] bits, int slot) {
+        bits[slot >>> 6] |= 1L << slot;
+    }
+
+    private static void desactiver(long[] bits, int slot) {
+        bits[slot >>> 6] &= ~(1L << slot);
+    }
+
+    private static int tranche(double prix) {
+        if (prix <= 0) {
+            return 0;
+        }
+        if (prix < 100) {
+            return 1;
+        }
+        if (prix < 200) {
+            return 2;
+        }
+        return prix < 500 ? 3 : 4;
+    }
+
+    private static boolean estDisponible(CatalogueEntry entry, long maintenant) {
+        return entry.statut() == Statut.PUBLIE && secondes(entry.dateFin()) > maintenant;
+    }
+
+    private static String cleVille(String ville) {
+        return ville.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long secondes(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Table de hachage id → emplacement sans objets boxés (sondage linéaire)
+     */
+    static final class LongIntMap {
+        private static final long VIDE = Long.MIN_VALUE;
+
+        private long[] cles;
+        private int[] valeurs;
+        private int taille;
+
+        LongIntMap() {
+            clear();
+        }
+
+        void clear() {
+            cles = new long[1024];
+            Arrays.fill(cles, VIDE);
+            valeurs = new int[1024];
+            taille = 0;
+        }
+
+        int size() {
+            return taille;
+        }
+
+        int get(long cle) {
+            int masque = cles.length - 1;
+            for (int i = index(cle, masque); cles[i] != VIDE; i = (i + 1) & masque) {
+                if (cles[i] == cle) {
+                    return valeurs[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(long cle, int valeur) {
+            if ((taille + 1) * 2 > cles.length) {
+                redimensionner();
+            }
+            int masque = cles.length - 1;
+            int i = index(cle, masque);
+            while (cles[i] != VIDE) {
+                if (cles[i] == cle) {
+                    valeurs[i] = valeur;
+                    return;
+                }
+                i = (i + 1) & masque;
+            }
+            cles[i] = cle;
+            valeurs[i] = valeur;
+            taille++;
+        }
+
+        int remove(long cle) {
+            int masque = cles.length - 1;
+            for (int i = index(cle, masque); cles[i] != VIDE; i = (i + 1) & masque) {
+                if (cles[i] == cle) {
+                    int valeur = valeurs[i];
+                    decaler(i, masque);
+                    taille--;
+                    return valeur;
+                }
+            }
+            return -1;
+        }
+
+        // Suppression par décalage arrière : pas de marqueurs de suppression
+        private void decaler(int trou, int masque) {
+            int j = trou;
+            while (true) {
+                j = (j + 1) & masque;
+                if (cles[j] == VIDE) {
+                    break;
+                }
+                int origine = index(cles[j], masque);
+                boolean deplacable = trou <= j
+                        ? (origine <= trou || origine > j)
+                        : (origine <= trou && origine > j);
+                if (deplacable) {
+                    cles[trou] = cles[j];
+                    valeurs[trou] = valeurs[j];
+                    trou = j;
+                }
+            }
+            cles[trou] = VIDE;
+        }
+
+        private void redimensionner() {
+            long[] anciennesCles = cles;
+            int[] anciennesValeurs = valeurs;
+            cles = new long[anciennesCles.length * 2];
+            Arrays.fill(cles, VIDE);
+            valeurs = new int[anciennesCles.length * 2];
+            taille = 0;
+            for (int i = 0; i < anciennesCles.length; i++) {
+                if (anciennesCles[i] != VIDE) {
+                    put(anciennesCles[i], anciennesValeurs[i]);
+                }
+            }
+        }
+
+        private static int index(long cle, int masque) {
+            long h = cle * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & masque;
+        }
+    }
+}
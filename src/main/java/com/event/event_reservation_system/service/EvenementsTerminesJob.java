@@ -0,0 +1,64 @@
+package com.event.event_reservation_system.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Passe au statut TERMINE les événements publiés dont la date de fin est dépassée.
+ * Le statut en base fait foi : Event.isTermine() ne regarde plus l'horloge.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EvenementsTerminesJob {
+
+    static final String VERROU = "evenements-termines";
+
+    private final EventService eventService;
+    private final JobLockService jobLockService;
+
+    @Value("${evenement.expiration.taille-lot:500}")
+    private int tailleLot;
+
+    @Value("${evenement.expiration.bail:PT10M}")
+    private Duration bail;
+
+    /**
+     * Traite les événements expirés par lots, chaque lot dans sa propre transaction
+     * @return nombre d'événements marqués comme terminés (0 si une autre instance détient le verrou)
+     */
+    @Scheduled(cron = "${evenement.expiration.cron:0 */5 * * * *}")
+    public int executer() {
+        if (!jobLockService.acquerir(VERROU, bail)) {
+            log.debug("Passage des événements terminés déjà en cours sur une autre instance");
+            return 0;
+        }
+
+        long debut = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        try {
+            int lot;
+            do {
+                lot = eventService.verifierEvenementsTermines(now, tailleLot);
+                total += lot;
+            } while (lot == tailleLot);
+        } finally {
+            jobLockService.liberer(VERROU);
+        }
+
+        long dureeMs = Duration.ofNanos(System.nanoTime() - debut).toMillis();
+        if (total > 0) {
+            log.info("Événements marqués comme terminés: {} en {} ms", total, dureeMs);
+        } else {
+            log.debug("Aucun événement à terminer ({} ms)", dureeMs);
+        }
+        return total;
+    }
+}
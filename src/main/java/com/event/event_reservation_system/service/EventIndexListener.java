@@ -0,0 +1,85 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import com.event.event_reservation_system.dto.CatalogueEntry;
+import com.event.event_reservation_system.dto.EventSearchDocument;
+import com.event.event_reservation_system.modele.Event;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Répercute les écritures JPA sur Event dans les index en mémoire (plein texte et facettes),
+ * une fois la transaction validée
+ */
+@Component
+@RequiredArgsConstructor
+public class EventIndexListener {
+
+    private final ObjectProvider<EventSearchIndex> eventSearchIndex;
+    private final ObjectProvider<CatalogueFacetIndex> catalogueFacetIndex;
+    private final ObjectProvider<EventRepository> eventRepository;
+
+    @PostPersist
+    @PostUpdate
+    public void apresEcriture(Event event) {
+        EventSearchDocument document = EventSearchDocument.of(event);
+        CatalogueEntry entry = CatalogueEntry.of(event);
+        apresCommit(() -> {
+            eventSearchIndex.getObject().indexer(document);
+            catalogueFacetIndex.getObject().mettreAJour(entry);
+        });
+    }
+
+    @PostRemove
+    public void apresSuppression(Event event) {
+        Long eventId = event.getId();
+        apresCommit(() -> {
+            eventSearchIndex.getObject().supprimer(eventId);
+            catalogueFacetIndex.getObject().retirer(eventId);
+        });
+    }
+
+    /**
+     * Répercute le compteur de places d'un événement, modifié par UPDATE atomique (sans @PostUpdate).
+     * Lu juste avant la validation, quand la transaction détient encore le verrou de la ligne :
+     * les compteurs parviennent à l'index dans l'ordre des validations.
+     */
+    public void apresChangementDesPlaces(Long eventId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            indexerPlaces(eventId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                indexerPlaces(eventId);
+            }
+        });
+    }
+
+    private void indexerPlaces(Long eventId) {
+        Integer places = eventRepository.getObject().findPlacesReservees(eventId);
+        if (places != null) {
+            eventSearchIndex.getObject().mettreAJourPlaces(eventId, places);
+        }
+    }
+
+    private void apresCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,398 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.dto.CatalogueFiltre;
+import com.event.event_reservation_system.dto.EventSearchDocument;
+import com.event.event_reservation_system.modele.Statut;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.util.ElisionFilter;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoubleDocValuesField;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Index plein texte en mémoire (Lucene) des événements : titre, description, lieu et ville.
+ * Accents et casse ignorés ("theatre" trouve "Théâtre"), dernier mot complété par préfixe,
+ * résultats classés par pertinence (BM25).
+ * <p>
+ * Statut, catégorie, ville, prix et dates y sont aussi indexés : disponibilité et filtres du
+ * catalogue s'appliquent dans la recherche, qui donne ainsi le total exact et la page demandée
+ * sans tronquer les correspondances avant filtrage. Les places réservées, modifiées hors des
+ * écritures JPA, sont tenues à jour par {@link #mettreAJourPlaces} pour le tri par popularité.
+ */
+@Component
+@Slf4j
+public class EventSearchIndex {
+
+    private static final String ID = "id";
+    private static final Map<String, Float> CHAMPS = Map.of(
+            "titre", 3f,
+            "ville", 2f,
+            "lieu", 1.5f,
+            "description", 1f
+    );
+    private static final int LONGUEUR_MIN_PREFIXE = 2;
+
+    // Champs des filtres et tris (dates en millisecondes UTC, comme la colonne LocalDateTime)
+    private static final String STATUT = "statut";
+    private static final String CATEGORIE = "categorie";
+    private static final String VILLE_EXACTE = "ville_exacte";
+    private static final String PRIX = "prix";
+    private static final String DEBUT = "debut";
+    private static final String FIN = "fin";
+    private static final String PLACES = "places";
+
+    // Propriétés de tri (EventDTO) que l'index sait appliquer
+    private static final Map<String, SortField.Type> TYPES_TRI = Map.of(
+            "id", SortField.Type.LONG,
+            "dateDebut", SortField.Type.LONG,
+            "prixUnitaire", SortField.Type.DOUBLE,
+            "placesReservees", SortField.Type.LONG
+    );
+    private static final Map<String, String> CHAMPS_TRI = Map.of(
+            "id", ID,
+            "dateDebut", DEBUT,
+            "prixUnitaire", PRIX,
+            "placesReservees", PLACES
+    );
+
+    /**
+     * Page d'identifiants dans l'ordre demandé et nombre total de correspondances
+     */
+    public record Resultats(List<Long> ids, int total) {
+    }
+
+    private final Analyzer analyzer = new FrenchFoldingAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    // Dernier compteur connu par événement : réindexer un événement ne doit pas le ramener
+    // à la valeur lue par JPA, que les UPDATE atomiques du compteur ne mettent pas à jour
+    private final Map<Long, Integer> places = new HashMap<>();
+
+    public EventSearchIndex() {
+        try {
+            writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Initialisation de l'index de recherche impossible", e);
+        }
+    }
+
+    /**
+     * Remplace tout le contenu de l'index
+     */
+    public synchronized void reconstruire(Iterable<EventSearchDocument> documents) {
+        try {
+            writer.deleteAll();
+            places.clear();
+            int count = 0;
+            for (EventSearchDocument document : documents) {
+                int placesReservees = placesInitiales(document);
+                places.put(document.id(), placesReservees);
+                writer.addDocument(toDocument(document, placesReservees));
+                count++;
+            }
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            log.info("Index de recherche reconstruit: {} événements", count);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Ajoute ou met à jour un événement, en conservant le compteur de places déjà indexé
+     */
+    public synchronized void indexer(EventSearchDocument document) {
+        int placesReservees = places.computeIfAbsent(document.id(), id -> placesInitiales(document));
+        try {
+            writer.updateDocument(new Term(ID, document.id().toString()), toDocument(document, placesReservees));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Retire un événement de l'index
+     */
+    public synchronized void supprimer(Long eventId) {
+        places.remove(eventId);
+        try {
+            writer.deleteDocuments(new Term(ID, eventId.toString()));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Nouveau compteur de places réservées d'un événement indexé (tri par popularité)
+     */
+    public synchronized void mettreAJourPlaces(Long eventId, int placesReservees) {
+        if (!places.containsKey(eventId)) {
+            return;
+        }
+        places.put(eventId, placesReservees);
+        try {
+            writer.updateNumericDocValue(new Term(ID, eventId.toString()), PLACES, placesReservees);
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Événements disponibles correspondant au texte et au filtre : identifiants de la page
+     * [debut, debut + nombre) dans l'ordre du tri (pertinence si non trié) et total exact
+     */
+    public Resultats rechercher(String texte, CatalogueFiltre filtre, LocalDateTime now,
+                                org.springframework.data.domain.Sort tri, int debut, int nombre) {
+        Query query = construireRequete(texte, filtre, now);
+        if (query == null) {
+            return new Resultats(List.of(), 0);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int total = searcher.count(query);
+                if (debut >= total) {
+                    return new Resultats(List.of(), total);
+                }
+                TopDocs topDocs = searcher.search(query, debut + nombre, versLucene(tri));
+                return new Resultats(identifiants(searcher, topDocs.scoreDocs, debut), total);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void fermer() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    private List<Long> identifiants(IndexSearcher searcher, ScoreDoc[] scoreDocs, int debut) throws IOException {
+        StoredFields storedFields = searcher.storedFields();
+        List<Long> ids = new ArrayList<>(Math.max(scoreDocs.length - debut, 0));
+        for (int i = debut; i < scoreDocs.length; i++) {
+            ids.add(Long.valueOf(storedFields.document(scoreDocs[i].doc).get(ID)));
+        }
+        return ids;
+    }
+
+    /**
+     * Texte, disponibilité (publié et non terminé) et filtres du catalogue ; ces derniers
+     * en clauses FILTER, sans effet sur le score
+     */
+    private Query construireRequete(String texte, CatalogueFiltre filtre, LocalDateTime now) {
+        Query texteQuery = construireRequete(texte);
+        if (texteQuery == null) {
+            return null;
+        }
+
+        BooleanQuery.Builder requete = new BooleanQuery.Builder()
+                .add(texteQuery, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(STATUT, Statut.PUBLIE.name())), BooleanClause.Occur.FILTER)
+                .add(LongPoint.newRangeQuery(FIN, millis(now) + 1, Long.MAX_VALUE), BooleanClause.Occur.FILTER);
+        if (filtre.categorie() != null) {
+            requete.add(new TermQuery(new Term(CATEGORIE, filtre.categorie().name())), BooleanClause.Occur.FILTER);
+        }
+        if (filtre.ville() != null) {
+            requete.add(new TermQuery(new Term(VILLE_EXACTE, cleVille(filtre.ville()))), BooleanClause.Occur.FILTER);
+        }
+        if (filtre.minPrix() != null || filtre.maxPrix() != null) {
+            requete.add(DoublePoint.newRangeQuery(PRIX,
+                    filtre.minPrix() != null ? filtre.minPrix() : Double.NEGATIVE_INFINITY,
+                    filtre.maxPrix() != null ? filtre.maxPrix() : Double.POSITIVE_INFINITY), BooleanClause.Occur.FILTER);
+        }
+        if (filtre.dateDebut() != null) {
+            requete.add(LongPoint.newRangeQuery(DEBUT, millis(filtre.dateDebut()), Long.MAX_VALUE),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (filtre.dateFin() != null) {
+            requete.add(LongPoint.newRangeQuery(FIN, Long.MIN_VALUE, millis(filtre.dateFin())),
+                    BooleanClause.Occur.FILTER);
+        }
+        return requete.build();
+    }
+
+    /**
+     * Tri de la page : pertinence puis identifiant si non trié, sinon les propriétés indexées
+     * (le catalogue ne propose que celles-ci)
+     */
+    private Sort versLucene(org.springframework.data.domain.Sort tri) {
+        if (tri.isUnsorted()) {
+            return new Sort(SortField.FIELD_SCORE, new SortField(ID, SortField.Type.LONG));
+        }
+        List<SortField> champs = new ArrayList<>();
+        for (org.springframework.data.domain.Sort.Order ordre : tri) {
+            String propriete = ordre.getProperty();
+            if (!CHAMPS_TRI.containsKey(propriete)) {
+                throw new IllegalArgumentException("Tri non indexé pour la recherche plein texte : " + propriete);
+            }
+            champs.add(new SortField(CHAMPS_TRI.get(propriete), TYPES_TRI.get(propriete), ordre.isDescending()));
+        }
+        return new Sort(champs.toArray(new SortField[0]));
+    }
+
+    private Query construireRequete(String texte) {
+        List<String> termes = analyser(texte);
+        if (termes.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder tousLesMots = new BooleanQuery.Builder();
+        for (int i = 0; i < termes.size(); i++) {
+            String terme = termes.get(i);
+            // Le dernier mot est en cours de saisie : on le complète par préfixe
+            boolean prefixe = i == termes.size() - 1 && terme.length() >= LONGUEUR_MIN_PREFIXE;
+
+            BooleanQuery.Builder unChamp = new BooleanQuery.Builder();
+            CHAMPS.forEach((champ, boost) -> {
+                unChamp.add(new BoostQuery(new TermQuery(new Term(champ, terme)), boost), BooleanClause.Occur.SHOULD);
+                if (prefixe) {
+                    // Correspondance exacte favorisée par rapport au préfixe
+                    unChamp.add(new BoostQuery(new PrefixQuery(new Term(champ, terme)), boost / 2),
+                            BooleanClause.Occur.SHOULD);
+                }
+            });
+            tousLesMots.add(unChamp.build(), BooleanClause.Occur.MUST);
+        }
+        return tousLesMots.build();
+    }
+
+    private List<String> analyser(String texte) {
+        List<String> termes = new ArrayList<>();
+        if (texte == null || texte.isBlank()) {
+            return termes;
+        }
+        try (TokenStream stream = analyzer.tokenStream("titre", texte)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                termes.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return termes;
+    }
+
+    private Document toDocument(EventSearchDocument event, int placesReservees) {
+        Document document = new Document();
+        document.add(new StringField(ID, event.id().toString(), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID, event.id()));
+        ajouterTexte(document, "titre", event.titre());
+        ajouterTexte(document, "description", event.description());
+        ajouterTexte(document, "lieu", event.lieu());
+        ajouterTexte(document, "ville", event.ville());
+
+        if (event.statut() != null) {
+            document.add(new StringField(STATUT, event.statut().name(), Field.Store.NO));
+        }
+        if (event.categorie() != null) {
+            document.add(new StringField(CATEGORIE, event.categorie().name(), Field.Store.NO));
+        }
+        if (event.ville() != null) {
+            document.add(new StringField(VILLE_EXACTE, cleVille(event.ville()), Field.Store.NO));
+        }
+        if (event.prixUnitaire() != null) {
+            document.add(new DoublePoint(PRIX, event.prixUnitaire()));
+            document.add(new DoubleDocValuesField(PRIX, event.prixUnitaire()));
+        }
+        if (event.dateDebut() != null) {
+            document.add(new LongPoint(DEBUT, millis(event.dateDebut())));
+            document.add(new NumericDocValuesField(DEBUT, millis(event.dateDebut())));
+        }
+        if (event.dateFin() != null) {
+            document.add(new LongPoint(FIN, millis(event.dateFin())));
+        }
+        document.add(new NumericDocValuesField(PLACES, placesReservees));
+        return document;
+    }
+
+    private static int placesInitiales(EventSearchDocument event) {
+        return event.placesReservees() != null ? event.placesReservees() : 0;
+    }
+
+    private static long millis(LocalDateTime date) {
+        return date.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // Comparaison insensible à la casse, comme LOWER(e.ville) = LOWER(:ville)
+    private static String cleVille(String ville) {
+        return ville.toLowerCase(Locale.ROOT);
+    }
+
+    private void ajouterTexte(Document document, String champ, String valeur) {
+        if (valeur != null) {
+            document.add(new TextField(champ, valeur, Field.Store.NO));
+        }
+    }
+
+    /**
+     * Minuscules, élisions françaises (l', d'...) et suppression des accents
+     */
+    static final class FrenchFoldingAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = new StandardTokenizer();
+            TokenStream result = new ElisionFilter(source, FrenchAnalyzer.DEFAULT_ARTICLES);
+            result = new LowerCaseFilter(result);
+            result = new ASCIIFoldingFilter(result);
+            return new TokenStreamComponents(source, result);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
@@ -3,7 +3,12 @@ package com.event.event_reservation_system.service;
 import com.event.event_reservation_system.Repositories.EventRepository;
 import com.event.event_reservation_system.Repositories.ReservationRepository;
 import com.event.event_reservation_system.Repositories.UserRepository;
+import com.event.event_reservation_system.config.CacheConfig;
+import com.event.event_reservation_system.dto.CatalogueEntry;
+import com.event.event_reservation_system.dto.CatalogueFacettes;
+import com.event.event_reservation_system.dto.CatalogueFiltre;
 import com.event.event_reservation_system.dto.EventDTO;
+import com.event.event_reservation_system.dto.EventSearchDocument;
 import com.event.event_reservation_system.exception.BadRequestException;
 import com.event.event_reservation_system.exception.BusinessException;
 import com.event.event_reservation_system.exception.ForbiddenException;
@@ -12,12 +17,24 @@ import com.event.event_reservation_system.modele.*;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,10 +45,16 @@ public class EventService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final ReservationRepository reservationRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final EventSearchIndex eventSearchIndex;
+    private final CatalogueFacetIndex catalogueFacetIndex;
+
+    private static final int TAILLE_LOT_ANNULATION = 1000;
 
     /**
      * Création d'un événement (ADMIN ou ORGANIZER)
      */
+    @CacheEvict(cacheNames = CacheConfig.VILLES, allEntries = true)
     public Event creerEvenement(Event event, Long organisateurId) {
         log.info("Création d'un événement par l'utilisateur ID: {}", organisateurId);
 
@@ -58,6 +81,11 @@ public class EventService {
     /**
      * Modification d'un événement
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENEMENTS, key = "#eventId"),
+            @CacheEvict(cacheNames = CacheConfig.EVENEMENTS_POPULAIRES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.VILLES, allEntries = true)
+    })
     public Event modifierEvenement(Long eventId, Event updatedEvent, Long userId) {
         Event event = trouverParId(eventId);
         User user = userRepository.findById(userId)
@@ -101,6 +129,11 @@ public class EventService {
     /**
      * Publication d'un événement
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENEMENTS, key = "#eventId"),
+            @CacheEvict(cacheNames = CacheConfig.EVENEMENTS_POPULAIRES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.VILLES, allEntries = true)
+    })
     public Event publierEvenement(Long eventId, Long userId) {
         Event event = trouverParId(eventId);
         User user = userRepository.findById(userId)
@@ -128,6 +161,11 @@ public class EventService {
     /**
      * Annulation d'un événement
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENEMENTS, key = "#eventId"),
+            @CacheEvict(cacheNames = CacheConfig.EVENEMENTS_POPULAIRES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.VILLES, allEntries = true)
+    })
     public Event annulerEvenement(Long eventId, Long userId) {
         Event event = trouverParId(eventId);
         User user = userRepository.findById(userId)
@@ -143,19 +181,37 @@ public class EventService {
 
         event.setStatut(Statut.ANNULE);
 
-        // Annuler toutes les réservations associées
-        event.getReservations().stream()
-                .filter(r -> r.getStatut() != StatutReservation.ANNULEE)
-                .forEach(r -> r.setStatut(StatutReservation.ANNULEE));
+        // Annuler toutes les réservations associées sans les charger
+        int reservationsAnnulees = annulerReservationsEvenement(event);
+        seatInventoryService.libererToutesLesPlaces(event);
 
-        log.info("Événement annulé: ID {}", eventId);
+        log.info("Événement annulé: ID {} ({} réservation(s) annulée(s))", eventId, reservationsAnnulees);
 
         return eventRepository.save(event);
     }
 
+    /**
+     * Annule par lots les réservations actives d'un événement
+     * @return nombre de réservations annulées
+     */
+    private int annulerReservationsEvenement(Event event) {
+        int total = 0;
+        List<Long> ids = reservationRepository.findIdsNonAnnuleesByEvenement(event, Limit.of(TAILLE_LOT_ANNULATION));
+        while (!ids.isEmpty()) {
+            total += reservationRepository.annulerParIds(ids);
+            ids = reservationRepository.findIdsNonAnnuleesByEvenement(event, Limit.of(TAILLE_LOT_ANNULATION));
+        }
+        return total;
+    }
+
     /**
      * Suppression d'un événement
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENEMENTS, key = "#eventId"),
+            @CacheEvict(cacheNames = CacheConfig.EVENEMENTS_POPULAIRES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.VILLES, allEntries = true)
+    })
     public void supprimerEvenement(Long eventId, Long userId) {
         Event event = trouverParId(eventId);
         User user = userRepository.findById(userId)
@@ -197,14 +253,7 @@ public class EventService {
      */
     @Transactional(readOnly = true)
     public List<EventDTO> getEvenementsDisponiblesDTO() {
-        List<Event> events = eventRepository.findAvailableEvents(LocalDateTime.now());
-
-        return events.stream()
-                .map(event -> {
-                    int placesReservees = reservationRepository.countPlacesReserveesForEvent(event);
-                    return EventDTO.fromEntity(event, placesReservees);
-                })
-                .collect(Collectors.toList());
+        return eventRepository.findAvailableEventsDTO(LocalDateTime.now());
     }
 
     /**
@@ -221,32 +270,104 @@ public class EventService {
             LocalDateTime dateFin,
             String keyword
     ) {
-        List<Event> events = eventRepository.searchWithFilters(
+        return eventRepository.searchWithFiltersDTO(
                 categorie, statut, ville, minPrix, maxPrix, dateDebut, dateFin, keyword
         );
+    }
 
-        return events.stream()
-                .map(event -> {
-                    int placesReservees = reservationRepository.countPlacesReserveesForEvent(event);
-                    return EventDTO.fromEntity(event, placesReservees);
-                })
-                .collect(Collectors.toList());
+    /**
+     * Recherche paginée des événements disponibles avec DTO
+     */
+    @Transactional(readOnly = true)
+    public Page<EventDTO> rechercherEvenementsDisponiblesDTO(
+            Categorie categorie,
+            String ville,
+            Double minPrix,
+            Double maxPrix,
+            LocalDateTime dateDebut,
+            LocalDateTime dateFin,
+            String keyword,
+            Pageable pageable
+    ) {
+        String motCle = keyword != null && !keyword.isBlank() ? keyword.trim() : null;
+        return eventRepository.searchAvailableWithFiltersDTO(
+                categorie, ville, minPrix, maxPrix, dateDebut, dateFin, motCle,
+                LocalDateTime.now(), pageable
+        );
+    }
+
+    /**
+     * Recherche plein texte (titre, description, lieu, ville) parmi les événements disponibles.
+     * Sans tri explicite, les résultats sont classés par pertinence.
+     * Disponibilité, filtres et tris (places réservées comprises) sont appliqués par l'index :
+     * total exact et page lue dans l'index, la base ne charge que les événements de la page.
+     */
+    @Transactional(readOnly = true)
+    public Page<EventDTO> rechercherEvenementsTexteDTO(
+            String texte,
+            Categorie categorie,
+            String ville,
+            Double minPrix,
+            Double maxPrix,
+            LocalDateTime dateDebut,
+            LocalDateTime dateFin,
+            Pageable pageable
+    ) {
+        if (texte == null || texte.isBlank()) {
+            return rechercherEvenementsDisponiblesDTO(
+                    categorie, ville, minPrix, maxPrix, dateDebut, dateFin, null, pageable);
+        }
+
+        CatalogueFiltre filtre = new CatalogueFiltre(categorie, ville, minPrix, maxPrix, dateDebut, dateFin);
+        LocalDateTime now = LocalDateTime.now();
+
+        EventSearchIndex.Resultats resultats = eventSearchIndex.rechercher(
+                texte, filtre, now, pageable.getSort(), (int) pageable.getOffset(), pageable.getPageSize());
+        if (resultats.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, resultats.total());
+        }
+
+        // La base revérifie la disponibilité ; l'ordre reste celui de l'index
+        Map<Long, Integer> rang = new HashMap<>();
+        for (int i = 0; i < resultats.ids().size(); i++) {
+            rang.put(resultats.ids().get(i), i);
+        }
+        List<EventDTO> page = new ArrayList<>(eventRepository.findAvailableByIdsDTO(
+                resultats.ids(), categorie, ville, minPrix, maxPrix, dateDebut, dateFin, now, Pageable.unpaged()
+        ));
+        page.sort(Comparator.comparing(dto -> rang.get(dto.getId())));
+        return new PageImpl<>(page, pageable, resultats.total());
+    }
+
+    /**
+     * Reconstruit les index en mémoire (plein texte et facettes) à partir de la base au démarrage
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void indexerCatalogue() {
+        try (Stream<EventSearchDocument> documents = eventRepository.streamSearchDocuments()) {
+            eventSearchIndex.reconstruire(documents::iterator);
+        }
+        try (Stream<CatalogueEntry> entries = eventRepository.streamCatalogueEntries(LocalDateTime.now())) {
+            catalogueFacetIndex.reconstruire(entries::iterator);
+        }
+    }
+
+    /**
+     * Compteurs des facettes du catalogue public, calculés en mémoire
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CatalogueFacettes getFacettesCatalogue(CatalogueFiltre filtre) {
+        return catalogueFacetIndex.facettes(filtre, LocalDateTime.now());
     }
 
     /**
      * Événements populaires avec DTO
      */
+    @Cacheable(cacheNames = CacheConfig.EVENEMENTS_POPULAIRES, key = "#limit")
     @Transactional(readOnly = true)
     public List<EventDTO> getEvenementsPopulairesDTO(int limit) {
-        List<Event> events = eventRepository.findMostPopular();
-
-        return events.stream()
-                .limit(limit)
-                .map(event -> {
-                    int placesReservees = reservationRepository.countPlacesReserveesForEvent(event);
-                    return EventDTO.fromEntity(event, placesReservees);
-                })
-                .collect(Collectors.toList());
+        return eventRepository.findMostPopularDTO(LocalDateTime.now(), Limit.of(limit));
     }
 
     /**
@@ -263,9 +384,7 @@ public class EventService {
      */
     @Transactional(readOnly = true)
     public List<Event> getEvenementsPopulaires(int limit) {
-        return eventRepository.findMostPopular().stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+        return eventRepository.findMostPopular(LocalDateTime.now(), Limit.of(limit));
     }
 
     /**
@@ -290,24 +409,34 @@ public class EventService {
     }
 
     /**
-     * Vérification automatique des événements terminés
+     * Marque comme terminé un lot d'événements publiés dont la date de fin est passée
+     * @return nombre d'événements mis à jour
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENEMENTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EVENEMENTS_POPULAIRES, allEntries = true)
+    })
     @Transactional
-    public void verifierEvenementsTermines() {
-        List<Event> eventsATerminer = eventRepository.findEventsToMarkAsFinished(LocalDateTime.now());
-
-        eventsATerminer.forEach(event -> {
-            event.setStatut(Statut.TERMINE);
-            log.info("Événement marqué comme terminé: ID {}", event.getId());
-        });
-
-        if (!eventsATerminer.isEmpty()) {
-            eventRepository.saveAll(eventsATerminer);
+    public int verifierEvenementsTermines(LocalDateTime now, int tailleLot) {
+        List<Long> ids = eventRepository.findIdsToMarkAsFinished(now, Limit.of(tailleLot));
+        if (ids.isEmpty()) {
+            return 0;
         }
+        return eventRepository.marquerTermines(ids, now);
+    }
+
+    /**
+     * Consulter un événement (fiche et formulaire de réservation) : DTO immuable mis en cache
+     */
+    @Cacheable(cacheNames = CacheConfig.EVENEMENTS, key = "#id")
+    @Transactional(readOnly = true)
+    public EventDTO consulter(Long id) {
+        return eventRepository.findByIdDTO(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Événement", id));
     }
 
     /**
-     * Trouver un événement par ID
+     * Trouver un événement par ID (entité chargée à chaque appel, hors cache, pour la modification)
      */
     @Transactional(readOnly = true)
     public Event trouverParId(Long id) {
@@ -325,6 +454,7 @@ public class EventService {
     /**
      * Obtenir toutes les villes
      */
+    @Cacheable(cacheNames = CacheConfig.VILLES, key = "'toutes'")
     @Transactional(readOnly = true)
     public List<String> getToutesLesVilles() {
         return eventRepository.findAllVilles();
@@ -360,8 +490,8 @@ public class EventService {
      * Trouver les événements d'un organisateur
      */
     @Transactional(readOnly = true)
-    public List<Event> trouverParOrganisateur(User organisateur) {
-        return eventRepository.findByOrganisateur(organisateur);
+    public List<Event> trouverParOrganisateur(Long organisateurId) {
+        return eventRepository.findByOrganisateur(userRepository.getReferenceById(organisateurId));
     }
     /**
      * Compter tous les événements
@@ -396,21 +526,13 @@ public class EventService {
         // Convertir le label (String) en enum Categorie
         Categorie categorie = Categorie.fromString(categorieLabel);
 
-// Appeler la méthode corrigée du repository
-        List<Event> events = eventRepository.findByCategorieAndStatut(categorie, Statut.PUBLIE);
-
-        return events.stream()
-                .limit(limit)
-                .map(event -> {
-                    int placesReservees = reservationRepository.countPlacesReserveesForEvent(event);
-                    return EventDTO.fromEntity(event, placesReservees);
-                })
-                .collect(Collectors.toList());
+        return eventRepository.findByCategorieAndStatutDTO(
+                categorie, Statut.PUBLIE, PageRequest.of(0, limit)
+        );
     }
     @Transactional(readOnly = true)
     public int getPlacesReservees(Long eventId) {
-        Event event = trouverParId(eventId);
-        return reservationRepository.countPlacesReserveesForEvent(event);
+        return trouverParId(eventId).getPlacesReservees();
     }
     @Transactional(readOnly = true)
     public Map<Statut, Long> getEventsCountByStatus() {
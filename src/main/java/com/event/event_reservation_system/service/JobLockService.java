@@ -0,0 +1,58 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.JobLockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Verrous de tâches planifiées en base : une seule instance exécute
+ * une tâche donnée tant que son bail n'a pas expiré.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+public class JobLockService {
+
+    private final String noeud = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final JobLockRepository jobLockRepository;
+
+    /**
+     * Tente de prendre le bail de la tâche pour la durée donnée.
+     * La mise à jour conditionnelle et la création du verrou s'exécutent chacune dans
+     * leur propre transaction : une création concurrente perdue (clé dupliquée) vaut un refus.
+     * @return true si ce nœud détient désormais le bail
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean acquerir(String nom, Duration duree) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobLockRepository.acquerir(nom, noeud, now, now.plus(duree)) == 1) {
+            return true;
+        }
+
+        try {
+            jobLockRepository.inserer(nom, noeud, now.plus(duree));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Verrou {} déjà détenu par une autre instance", nom);
+            return false;
+        }
+        log.debug("Verrou {} créé par {}", nom, noeud);
+        return true;
+    }
+
+    /**
+     * Libère le bail s'il est détenu par ce nœud
+     */
+    public void liberer(String nom) {
+        jobLockRepository.liberer(nom, noeud, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,48 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Vérifie périodiquement que le compteur Event.placesReservees correspond
+ * à la somme des réservations actives, et corrige les écarts détectés.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlacesReserveesReconciliationService {
+
+    private final EventRepository eventRepository;
+    private final EventIndexListener eventIndexListener;
+
+    /**
+     * Recalcule les compteurs divergents
+     * @return nombre d'événements corrigés
+     */
+    @Scheduled(cron = "${reservation.reconciliation.cron:0 0 3 * * *}")
+    @Transactional
+    public int reconcilier() {
+        List<Object[]> divergences = eventRepository.findPlacesReserveesDivergentes();
+
+        for (Object[] row : divergences) {
+            Long eventId = (Long) row[0];
+            log.warn("Écart sur le compteur de places de l'événement {}: compteur={}, réservations={}",
+                    eventId, row[1], row[2]);
+            eventRepository.recalculerPlacesReservees(eventId);
+            eventIndexListener.apresChangementDesPlaces(eventId);
+        }
+
+        if (divergences.isEmpty()) {
+            log.debug("Réconciliation des places réservées: aucun écart");
+        } else {
+            log.warn("Réconciliation des places réservées: {} événement(s) corrigé(s)", divergences.size());
+        }
+        return divergences.size();
+    }
+}
@@ -0,0 +1,132 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import com.event.event_reservation_system.Repositories.OriginePopulariteRepository;
+import com.event.event_reservation_system.Repositories.ReservationRepository;
+import com.event.event_reservation_system.config.CacheConfig;
+import com.event.event_reservation_system.modele.OriginePopularite;
+import com.event.event_reservation_system.modele.Reservation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Score de popularité des événements : chaque place confirmée pèse 2^(t / demi-vie),
+ * t étant l'âge de la réservation mesuré depuis une origine commune. Tous les scores
+ * décroissent au même rythme, l'ordre des scores stockés est donc celui des scores
+ * décroissants à tout instant et une confirmation se réduit à une addition en base.
+ * L'origine, stockée en base, est réancrée au début de la fenêtre à chaque recalcul
+ * et tous les scores sont recalculés sur cette origine : les exposants restent de l'ordre
+ * de fenêtre / demi-vie, quelle que soit la date.
+ * Seules les transitions qui modifient un score (confirmation, annulation d'une réservation
+ * confirmée) invalident le cache des événements populaires, après le commit.
+ */
+@Service
+@Slf4j
+@Transactional
+public class PopulariteService {
+
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final OriginePopulariteRepository originePopulariteRepository;
+    private final CacheManager cacheManager;
+    private final double demiVieSecondes;
+    private final Duration fenetre;
+
+    public PopulariteService(EventRepository eventRepository,
+                             ReservationRepository reservationRepository,
+                             OriginePopulariteRepository originePopulariteRepository,
+                             CacheManager cacheManager,
+                             @Value("${popularite.demi-vie:P7D}") Duration demiVie,
+                             @Value("${popularite.fenetre:P30D}") Duration fenetre) {
+        this.eventRepository = eventRepository;
+        this.reservationRepository = reservationRepository;
+        this.originePopulariteRepository = originePopulariteRepository;
+        this.cacheManager = cacheManager;
+        if (demiVie.toSeconds() <= 0) {
+            throw new IllegalArgumentException("La demi-vie de popularité doit être positive");
+        }
+        this.demiVieSecondes = demiVie.toSeconds();
+        this.fenetre = fenetre;
+    }
+
+    /**
+     * Ajoute au score de l'événement les places d'une réservation confirmée
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enregistrerConfirmation(Reservation reservation) {
+        eventRepository.ajouterScorePopularite(reservation.getEvenement().getId(),
+                poids(reservation.getNombrePlaces(), reservation.getDateReservation(),
+                        originePopulariteRepository.origine()));
+        invaliderPopulairesApresCommit();
+    }
+
+    /**
+     * Retire du score de l'événement les places d'une réservation confirmée puis annulée,
+     * sauf si elle est sortie de la fenêtre (le recalcul l'a déjà retirée)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enregistrerAnnulation(Reservation reservation) {
+        if (reservation.getDateReservation().isBefore(LocalDateTime.now().minus(fenetre))) {
+            return;
+        }
+        eventRepository.ajouterScorePopularite(reservation.getEvenement().getId(),
+                -poids(reservation.getNombrePlaces(), reservation.getDateReservation(),
+                        originePopulariteRepository.origine()));
+        invaliderPopulairesApresCommit();
+    }
+
+    private void invaliderPopulairesApresCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cacheManager.getCache(CacheConfig.EVENEMENTS_POPULAIRES).clear();
+            }
+        });
+    }
+
+    /**
+     * Recalcule tous les scores à partir des réservations confirmées de la fenêtre,
+     * ce qui en retire les réservations trop anciennes, en réancrant l'origine
+     * des poids au début de la fenêtre
+     * @return nombre d'événements ayant un score non nul
+     */
+    @Scheduled(cron = "${popularite.recalcul.cron:0 30 3 * * *}")
+    @CacheEvict(cacheNames = CacheConfig.EVENEMENTS_POPULAIRES, allEntries = true)
+    public int recalculer() {
+        LocalDateTime debutFenetre = LocalDateTime.now().minus(fenetre);
+        // Verrou jusqu'au commit : les recalculs de plusieurs instances ne se mélangent pas
+        OriginePopularite origine = originePopulariteRepository.verrouiller();
+        origine.setOrigine(debutFenetre);
+
+        Map<Long, Double> scores = new HashMap<>();
+        try (Stream<Object[]> reservations = reservationRepository.streamConfirmeesDepuis(debutFenetre)) {
+            reservations.forEach(row -> scores.merge((Long) row[0],
+                    poids((Integer) row[1], (LocalDateTime) row[2], debutFenetre), Double::sum));
+        }
+
+        eventRepository.reinitialiserScoresPopularite();
+        scores.forEach(eventRepository::definirScorePopularite);
+
+        log.info("Scores de popularité recalculés: {} événement(s)", scores.size());
+        return scores.size();
+    }
+
+    double poids(int nombrePlaces, LocalDateTime dateReservation, LocalDateTime origine) {
+        double age = Duration.between(origine, dateReservation).toSeconds();
+        return nombrePlaces * Math.pow(2.0, age / demiVieSecondes);
+    }
+}
@@ -0,0 +1,104 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.ReservationRepository;
+import com.event.event_reservation_system.dto.ReservationFilter;
+import com.event.event_reservation_system.modele.Reservation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Export CSV des réservations, écrit au fil de la lecture du curseur :
+ * la mémoire utilisée ne dépend pas du nombre de lignes exportées.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationExportService {
+
+    private static final int FETCH_SIZE = 500;
+    private static final int CLEAR_INTERVAL = 1000;
+    private static final char SEPARATEUR = ';';
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final ReservationRepository reservationRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Écrit les réservations filtrées au format CSV (UTF-8 avec BOM, séparateur ';' pour Excel)
+     * @return nombre de réservations exportées
+     */
+    @Transactional(readOnly = true)
+    public long exporterCsv(ReservationFilter filtre, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write('\uFEFF');
+        ecrireLigne(writer, "Code", "Client", "Email", "Événement", "Places", "Montant", "Statut", "Date");
+
+        long lignes = 0;
+        try (Stream<Reservation> reservations = reservationRepository.streamForExport(filtre, FETCH_SIZE)) {
+            Iterator<Reservation> iterator = reservations.iterator();
+            while (iterator.hasNext()) {
+                Reservation r = iterator.next();
+                ecrireLigne(writer,
+                        r.getCodeReservation(),
+                        r.getUtilisateur().getNomComplet(),
+                        r.getUtilisateur().getEmail(),
+                        r.getEvenement().getTitre(),
+                        String.valueOf(r.getNombrePlaces()),
+                        String.format("%.2f", r.getMontantTotal()),
+                        r.getStatut().getLabel(),
+                        r.getDateReservation().format(DATE_FORMAT)
+                );
+
+                // Détacher régulièrement les entités lues pour garder un contexte de persistance borné
+                if (++lignes % CLEAR_INTERVAL == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        log.info("Export CSV des réservations: {} lignes", lignes);
+        return lignes;
+    }
+
+    private void ecrireLigne(Writer writer, String... valeurs) throws IOException {
+        for (int i = 0; i < valeurs.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATEUR);
+            }
+            writer.write(echapper(valeurs[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private String echapper(String valeur) {
+        if (valeur == null) {
+            return "";
+        }
+        if (valeur.indexOf(SEPARATEUR) >= 0 || valeur.indexOf('"') >= 0
+                || valeur.indexOf('\n') >= 0 || valeur.indexOf('\r') >= 0) {
+            return '"' + valeur.replace("\"", "\"\"") + '"';
+        }
+        return valeur;
+    }
+}
@@ -2,8 +2,13 @@ package com.event.event_reservation_system.service;
 
 import com.event.event_reservation_system.Repositories.EventRepository;
 import com.event.event_reservation_system.Repositories.ReservationRepository;
+import com.event.event_reservation_system.Repositories.ReservationSpecifications;
 import com.event.event_reservation_system.Repositories.UserRepository;
+import com.event.event_reservation_system.config.CacheConfig;
+import com.event.event_reservation_system.dto.ReservationCursor;
 import com.event.event_reservation_system.dto.ReservationDashboardDTO;
+import com.event.event_reservation_system.dto.ReservationFilter;
+import com.event.event_reservation_system.dto.ReservationStats;
 import com.event.event_reservation_system.exception.BadRequestException;
 import com.event.event_reservation_system.exception.BusinessException;
 import com.event.event_reservation_system.exception.ForbiddenException;
@@ -15,6 +20,9 @@ import com.event.event_reservation_system.modele.User;
 import com.event.event_reservation_system.util.CodeGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
@@ -35,12 +43,15 @@ public class ReservationService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final CodeGenerator codeGenerator;
+    private final SeatInventoryService seatInventoryService;
+    private final PopulariteService populariteService;
 
     private static final int MAX_PLACES_PAR_RESERVATION = 10;
 
     /**
      * Création d'une réservation
      */
+    @CacheEvict(cacheNames = CacheConfig.EVENEMENTS, key = "#eventId")
     public Reservation creerReservation(
             Long userId,
             Long eventId,
@@ -60,20 +71,11 @@ public class ReservationService {
         // Validations métier
         validerReservation(evenement, nombrePlaces);
 
-        // Vérifier la disponibilité des places
-        int placesDisponibles = evenement.getPlacesDisponibles();
-        if (nombrePlaces > placesDisponibles) {
-            throw new BusinessException(
-                    String.format("Seulement %d places disponibles", placesDisponibles)
-            );
-        }
-
-        // Générer le code unique
-        String code;
-        do {
-            code = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        } while (reservationRepository.existsByCodeReservation(code));
+        // Vérifier et réserver les places disponibles
+        seatInventoryService.reserverPlaces(evenement, nombrePlaces);
 
+        // Générer le code unique (sans requête en base)
+        String code = codeGenerator.generateCode();
 
         // Créer la réservation
         Reservation reservation = Reservation.builder()
@@ -94,6 +96,7 @@ public class ReservationService {
     /**
      * Confirmation d'une réservation
      */
+    @CacheEvict(cacheNames = CacheConfig.EVENEMENTS, key = "#result.evenement.id")
     public Reservation confirmerReservation(Long reservationId) {
         Reservation reservation = trouverParId(reservationId);
 
@@ -105,7 +108,9 @@ public class ReservationService {
             throw new BusinessException("Une réservation annulée ne peut pas être confirmée");
         }
 
+        // EN_ATTENTE et CONFIRMEE occupent toutes deux des places : compteur inchangé
         reservation.setStatut(StatutReservation.CONFIRMEE);
+        populariteService.enregistrerConfirmation(reservation);
         log.info("Réservation confirmée: {}", reservation.getCodeReservation());
 
         return reservationRepository.save(reservation);
@@ -114,6 +119,7 @@ public class ReservationService {
     /**
      * Annulation d'une réservation
      */
+    @CacheEvict(cacheNames = CacheConfig.EVENEMENTS, key = "#result.evenement.id")
     public Reservation annulerReservation(Long reservationId, Long userId) {
         Reservation reservation = trouverParId(reservationId);
         User user = userRepository.findById(userId)
@@ -135,7 +141,11 @@ public class ReservationService {
             );
         }
 
+        if (reservation.getStatut() == StatutReservation.CONFIRMEE) {
+            populariteService.enregistrerAnnulation(reservation);
+        }
         reservation.setStatut(StatutReservation.ANNULEE);
+        seatInventoryService.libererPlaces(reservation.getEvenement(), reservation.getNombrePlaces());
         log.info("Réservation annulée: {}", reservation.getCodeReservation());
 
         return reservationRepository.save(reservation);
@@ -168,7 +178,12 @@ public class ReservationService {
      */
     @Transactional(readOnly = true)
     public Optional<Reservation> verifierReservation(String code) {
-        return reservationRepository.findByCodeReservation(code);
+        String codeNormalise = codeGenerator.normaliser(code);
+        // Un code mal formé ou au contrôle invalide n'est pas cherché en base
+        if (!codeGenerator.isValidFormat(codeNormalise)) {
+            return Optional.empty();
+        }
+        return reservationRepository.findByCodeReservation(codeNormalise);
     }
 
     /**
@@ -191,6 +206,54 @@ public class ReservationService {
         return reservationRepository.findByEvenement(evenement);
     }
 
+    /**
+     * Page de réservations d'un événement après un curseur (null pour la première page)
+     */
+    @Transactional(readOnly = true)
+    public List<Reservation> getReservationsEvenementApres(
+            Long eventId,
+            StatutReservation statut,
+            String recherche,
+            ReservationCursor curseur,
+            int limite
+    ) {
+        if (curseur == null) {
+            return reservationRepository.findByEvenementPremierePage(
+                    eventId, statut, normaliserRecherche(recherche), Limit.of(limite));
+        }
+        return reservationRepository.findByEvenementApres(
+                eventId,
+                statut,
+                normaliserRecherche(recherche),
+                curseur.dateReservation(),
+                curseur.id(),
+                Limit.of(limite)
+        );
+    }
+
+    /**
+     * Page de réservations d'un événement à une position donnée, sans curseur (saut lointain)
+     */
+    @Transactional(readOnly = true)
+    public List<Reservation> getReservationsEvenementADecalage(
+            Long eventId,
+            StatutReservation statut,
+            String recherche,
+            int decalage,
+            int limite
+    ) {
+        return reservationRepository.findByEvenementDecalage(
+                eventId, statut, normaliserRecherche(recherche), decalage, limite);
+    }
+
+    /**
+     * Nombre de réservations d'un événement correspondant aux filtres
+     */
+    @Transactional(readOnly = true)
+    public long compterReservationsEvenement(Long eventId, StatutReservation statut, String recherche) {
+        return reservationRepository.countByEvenementFiltres(eventId, statut, normaliserRecherche(recherche));
+    }
+
     /**
      * Réservations d'un événement par statut
      */
@@ -213,22 +276,23 @@ public class ReservationService {
         Event evenement = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Événement", eventId));
 
-        List<Reservation> reservations = reservationRepository.findByEvenement(evenement);
+        // Agrégats calculés en base : aucune réservation n'est chargée
+        Map<StatutReservation, Long> parStatut = new EnumMap<>(StatutReservation.class);
+        double revenu = 0;
+        for (Object[] row : reservationRepository.aggregateByStatutForEvent(evenement)) {
+            StatutReservation statut = (StatutReservation) row[0];
+            parStatut.put(statut, (Long) row[1]);
+            if (statut == StatutReservation.CONFIRMEE) {
+                revenu = ((Number) row[2]).doubleValue();
+            }
+        }
 
         Map<String, Object> stats = new HashMap<>();
-        stats.put("nombreReservations", reservations.size());
+        stats.put("nombreReservations", parStatut.values().stream().mapToLong(Long::longValue).sum());
         stats.put("placesReservees", evenement.getPlacesReservees());
         stats.put("placesDisponibles", evenement.getPlacesDisponibles());
         stats.put("tauxRemplissage", evenement.getTauxRemplissage());
-
-        Double revenu = reservations.stream()
-                .filter(r -> r.getStatut() == StatutReservation.CONFIRMEE)
-                .mapToDouble(Reservation::getMontantTotal)
-                .sum();
         stats.put("revenu", revenu);
-
-        Map<StatutReservation, Long> parStatut = reservations.stream()
-                .collect(Collectors.groupingBy(Reservation::getStatut, Collectors.counting()));
         stats.put("parStatut", parStatut);
 
         return stats;
@@ -272,6 +336,31 @@ public class ReservationService {
         );
     }
 
+    /**
+     * Tranche de réservations correspondant aux filtres (vue d'administration) ;
+     * le total est demandé à part par la grille, via compterReservations
+     */
+    @Transactional(readOnly = true)
+    public Slice<Reservation> rechercherReservations(ReservationFilter filtre, Pageable pageable) {
+        return reservationRepository.findSlice(filtre, pageable);
+    }
+
+    /**
+     * Nombre de réservations correspondant aux filtres
+     */
+    @Transactional(readOnly = true)
+    public long compterReservations(ReservationFilter filtre) {
+        return reservationRepository.count(ReservationSpecifications.avecFiltres(filtre));
+    }
+
+    /**
+     * Statistiques des réservations correspondant aux filtres (une seule requête)
+     */
+    @Transactional(readOnly = true)
+    public ReservationStats getStatistiques(ReservationFilter filtre) {
+        return reservationRepository.aggregateStats(filtre, LocalDateTime.now());
+    }
+
     /**
      * Trouver une réservation par ID
      */
@@ -289,6 +378,11 @@ public class ReservationService {
             throw new BusinessException("Cet événement n'est pas disponible pour la réservation");
         }
 
+        // Événement fini mais pas encore marqué TERMINE par la tâche planifiée
+        if (evenement.getDateFin().isBefore(LocalDateTime.now())) {
+            throw new BusinessException("Cet événement est terminé");
+        }
+
         // Vérifier le nombre de places
         if (nombrePlaces == null || nombrePlaces < 1) {
             throw new BadRequestException("Le nombre de places doit être au moins 1");
@@ -298,12 +392,13 @@ public class ReservationService {
             throw new BadRequestException(
                     String.format("Vous ne pouvez pas réserver plus de %d places", MAX_PLACES_PAR_RESERVATION)
             );
-        }// Vérifier que l'événement n'est pas complet
-        if (evenement.isComplet()) {
-            throw new BusinessException("Cet événement est complet");
         }
     }
 
+    private String normaliserRecherche(String recherche) {
+        return recherche != null && !recherche.isBlank() ? recherche.trim() : null;
+    }
+
     private boolean peutAnnuler(Reservation reservation, User user) {
         // L'utilisateur peut annuler sa propre réservation
         if (reservation.getUtilisateur().getId().equals(user.getId())) {
@@ -0,0 +1,73 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import com.event.event_reservation_system.exception.PlacesInsuffisantesException;
+import com.event.event_reservation_system.exception.ResourceNotFoundException;
+import com.event.event_reservation_system.modele.Event;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Inventaire des places d'un événement.
+ * Toute réservation de places passe par ce service afin que deux achats
+ * concurrents sur le même événement ne puissent pas dépasser la capacité.
+ * Le compteur Event.placesReservees est modifié par des UPDATE conditionnels :
+ * la base garantit l'atomicité, sans verrou applicatif ni chargement des réservations.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
+public class SeatInventoryService {
+
+    private final EventRepository eventRepository;
+    private final EventIndexListener eventIndexListener;
+
+    /**
+     * Réserve des places sur un événement
+     */
+    public void reserverPlaces(Event evenement, int nombrePlaces) {
+        int modifie = eventRepository.incrementerPlacesReservees(evenement.getId(), nombrePlaces);
+        if (modifie == 1) {
+            evenement.setPlacesReservees(evenement.getPlacesReservees() + nombrePlaces);
+            eventIndexListener.apresChangementDesPlaces(evenement.getId());
+            log.debug("{} places réservées sur l'événement {}", nombrePlaces, evenement.getId());
+            return;
+        }
+
+        // Refus : relire le compteur en base pour un message exact
+        Integer placesDisponibles = eventRepository.findPlacesDisponibles(evenement.getId());
+        if (placesDisponibles == null) {
+            throw new ResourceNotFoundException("Événement", evenement.getId());
+        }
+
+        if (placesDisponibles <= 0) {
+            throw new PlacesInsuffisantesException("Cet événement est complet");
+        }
+        throw new PlacesInsuffisantesException(
+                String.format("Seulement %d places disponibles", placesDisponibles)
+        );
+    }
+
+    /**
+     * Libère les places d'une réservation annulée
+     */
+    public void libererPlaces(Event evenement, int nombrePlaces) {
+        eventRepository.decrementerPlacesReservees(evenement.getId(), nombrePlaces);
+        evenement.setPlacesReservees(Math.max(0, evenement.getPlacesReservees() - nombrePlaces));
+        eventIndexListener.apresChangementDesPlaces(evenement.getId());
+        log.debug("{} places libérées sur l'événement {}", nombrePlaces, evenement.getId());
+    }
+
+    /**
+     * Libère toutes les places d'un événement annulé
+     */
+    public void libererToutesLesPlaces(Event evenement) {
+        eventRepository.reinitialiserPlacesReservees(evenement.getId());
+        evenement.setPlacesReservees(0);
+        eventIndexListener.apresChangementDesPlaces(evenement.getId());
+    }
+}
@@ -4,13 +4,17 @@ import com.event.event_reservation_system.Repositories.EventRepository;
 import com.event.event_reservation_system.Repositories.ReservationRepository;
 import com.event.event_reservation_system.Repositories.UserRepository;
 import com.event.event_reservation_system.exception.BadRequestException;
+import com.event.event_reservation_system.exception.BusinessException;
 import com.event.event_reservation_system.exception.ConflictException;
 import com.event.event_reservation_system.exception.ResourceNotFoundException;
 import com.event.event_reservation_system.modele.Role;
 import com.event.event_reservation_system.modele.User;
+import com.event.event_reservation_system.security.LoginRateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +34,8 @@ public class UserService {
     private final EventRepository eventRepository;
     private final ReservationRepository reservationRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoginRateLimiter loginRateLimiter;
 
     /**
      * Inscription d'un nouvel utilisateur
@@ -46,7 +52,7 @@ public class UserService {
         validerMotDePasse(user.getPassword());
 
         // Hasher le mot de passe
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(hacher(user.getPassword()));
 
         // Par défaut, nouveau utilisateur = CLIENT actif
         if (user.getRole() == null) {
@@ -65,6 +71,10 @@ public class UserService {
     public Optional<User> authentifier(String email, String password) {
         log.info("Tentative d'authentification pour: {}", email);
 
+        if (!loginRateLimiter.autoriser(email, null)) {
+            return Optional.empty();
+        }
+
         return userRepository.findByEmail(email)
                 .filter(User::getActif)
                 .filter(user -> passwordEncoder.matches(password, user.getPassword()));
@@ -89,7 +99,9 @@ public class UserService {
             user.setEmail(updatedInfo.getEmail());
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UtilisateurModifie(userId));
+        return saved;
     }
 
     /**
@@ -99,7 +111,7 @@ public class UserService {
         User user = trouverParId(userId);
 
         // Vérifier l'ancien mot de passe
-        if (!passwordEncoder.matches(ancienPassword, user.getPassword())) {
+        if (!verifier(ancienPassword, user.getPassword())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,"L'ancien mot de passe est incorrect");
         }
 
@@ -107,12 +119,33 @@ public class UserService {
         validerMotDePasse(nouveauPassword);
 
         // Changer le mot de passe
-        user.setPassword(passwordEncoder.encode(nouveauPassword));
+        user.setPassword(hacher(nouveauPassword));
         userRepository.save(user);
 
         log.info("Mot de passe changé pour l'utilisateur: {}", user.getEmail());
     }
 
+    /**
+     * Hachage sur le pool borné : une saturation devient une erreur métier à réessayer
+     */
+    private String hacher(String motDePasse) {
+        try {
+            return passwordEncoder.encode(motDePasse);
+        } catch (AuthenticationServiceException e) {
+            log.warn("Hachage du mot de passe impossible: {}", e.getMessage());
+            throw new BusinessException(e.getMessage(), e);
+        }
+    }
+
+    private boolean verifier(String motDePasse, String hachage) {
+        try {
+            return passwordEncoder.matches(motDePasse, hachage);
+        } catch (AuthenticationServiceException e) {
+            log.warn("Vérification du mot de passe impossible: {}", e.getMessage());
+            throw new BusinessException(e.getMessage(), e);
+        }
+    }
+
     /**
      * Désactivation d'un compte
      */
@@ -120,6 +153,7 @@ public class UserService {
         User user = trouverParId(userId);
         user.setActif(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UtilisateurModifie(userId));
 
         log.info("Compte désactivé: {}", user.getEmail());
     }
@@ -141,7 +175,9 @@ public class UserService {
     public User changerRole(Long userId, Role nouveauRole) {
         User user = trouverParId(userId);
         user.setRole(nouveauRole);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UtilisateurModifie(userId));
+        return saved;
     }
 
     /**
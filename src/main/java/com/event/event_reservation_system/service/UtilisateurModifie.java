@@ -0,0 +1,7 @@
+package com.event.event_reservation_system.service;
+
+/**
+ * Publié quand le profil, le rôle ou l'état d'un compte change
+ */
+public record UtilisateurModifie(Long userId) {
+}
@@ -1,67 +1,261 @@
 package com.event.event_reservation_system.util;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.SecureRandom;
-import java.util.function.Supplier;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
 
+/**
+ * Codes de réservation uniques sans requête en base : EVT- suivi de 13 caractères
+ * base32 Crockford (identifiant 64 bits brouillé) et de 2 caractères de contrôle HMAC.
+ * L'identifiant combine une horloge logique (millisecondes + séquence) et l'identifiant du nœud.
+ * Sans reservation.code.node-id, l'identifiant du nœud est un hachage de pid@hôte sur 10 bits :
+ * deux instances peuvent tomber sur le même, ce qui n'est toléré qu'en développement.
+ */
+@Slf4j
 @Component
 public class CodeGenerator {
     private static final String PREFIX = "EVT-";
-    private static final int CODE_LENGTH = 5;
-    private static final SecureRandom random = new SecureRandom();
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int BODY_LENGTH = 13;
+    private static final int CHECK_LENGTH = 2;
+    private static final int CODE_LENGTH = PREFIX.length() + BODY_LENGTH + CHECK_LENGTH;
+
+    // Codes à 5 chiffres générés avant ce format (jeu de données initial)
+    private static final Pattern LEGACY_FORMAT = Pattern.compile("EVT-\\d{5}");
+
+    private static final long EPOCH = 1_735_689_600_000L; // 2025-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int FEISTEL_ROUNDS = 4;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    // Secret de application.properties, connu de quiconque lit le dépôt
+    static final String DEV_SECRET = "dev-reservation-code-secret";
+    // Taille de bloc de HMAC-SHA256 : en deçà, la clé est plus faible que le haché
+    static final int SECRET_MIN_BYTES = 32;
+
+    private final long nodeId;
+    private final SecretKeySpec key;
+    private final long[] roundKeys;
+    // Instances Mac réutilisées via un pool et non par thread : avec les threads virtuels
+    // (un thread par tâche), un ThreadLocal recréerait un Mac à chaque code
+    private final Queue<Mac> macs = new ConcurrentLinkedQueue<>();
+    private final LongSupplier clock;
+
+    // (millisecondes depuis EPOCH << SEQUENCE_BITS) | séquence, strictement croissant
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public CodeGenerator(@Value("${reservation.code.node-id:-1}") int nodeId,
+                         @Value("${reservation.code.secret}") String secret,
+                         @Value("${vaadin.productionMode:false}") boolean production) {
+        this(verifierNodeId(nodeId, production), verifierSecret(secret, production), System::currentTimeMillis);
+    }
+
+    CodeGenerator(int nodeId, String secret, LongSupplier clock) {
+        if (nodeId >= (1 << NODE_BITS)) {
+            throw new IllegalArgumentException("L'identifiant de nœud doit être inférieur à " + (1 << NODE_BITS));
+        }
+        this.nodeId = nodeId >= 0 ? nodeId : defaultNodeId();
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.clock = clock;
+
+        this.roundKeys = new long[FEISTEL_ROUNDS];
+        for (int i = 0; i < FEISTEL_ROUNDS; i++) {
+            roundKeys[i] = ByteBuffer.wrap(hmac(("round-" + i).getBytes(StandardCharsets.UTF_8))).getLong();
+        }
+    }
 
     /**
-     * Génère un code de réservation unique
-     * @param existsChecker fonction pour vérifier l'existence du code
-     * @return code unique au format EVT-XXXXX
+     * Refuse de démarrer en production sans identifiant de nœud explicite
      */
-    public String generateUniqueCode(Supplier<Boolean> existsChecker) {
-        String code;
-        int attempts = 0;
-        final int MAX_ATTEMPTS = 100;
-
-        do {
-            code = generateCode();
-            attempts++;
-
-            if (attempts >= MAX_ATTEMPTS) {
-                throw new IllegalStateException(
-                        "Impossible de générer un code unique après " + MAX_ATTEMPTS + " tentatives"
-                );
-            }
-        } while (existsChecker.get());
+    static int verifierNodeId(int nodeId, boolean production) {
+        if (nodeId < 0 && production) {
+            throw new IllegalStateException(
+                    "reservation.code.node-id doit être fixé en production (0 à " + ((1 << NODE_BITS) - 1)
+                            + ", distinct pour chaque instance) : l'identifiant dérivé de pid@hôte peut être partagé");
+        }
+        if (nodeId < 0) {
+            log.warn("reservation.code.node-id absent : identifiant de nœud dérivé de pid@hôte (développement uniquement)");
+        }
+        return nodeId;
+    }
 
-        return code;
+    /**
+     * Refuse de démarrer en production avec le secret de développement ou un secret trop court :
+     * quiconque le connaît peut fabriquer des codes au caractère de contrôle valide
+     */
+    static String verifierSecret(String secret, boolean production) {
+        if (!production) {
+            return secret;
+        }
+        if (DEV_SECRET.equals(secret)) {
+            throw new IllegalStateException(
+                    "reservation.code.secret doit être surchargé en production : le secret par défaut est public");
+        }
+        if (secret.getBytes(StandardCharsets.UTF_8).length < SECRET_MIN_BYTES) {
+            throw new IllegalStateException(
+                    "reservation.code.secret doit compter au moins " + SECRET_MIN_BYTES + " octets en production");
+        }
+        return secret;
     }
 
     /**
-     * Génère un code aléatoire
+     * Génère un code de réservation unique
+     * @return code au format EVT- + 13 caractères + 2 caractères de contrôle
      */
-    private String generateCode() {
-        StringBuilder code = new StringBuilder(PREFIX);
+    public String generateCode() {
+        long body = scramble((nextSequence() << NODE_BITS) | nodeId);
 
-        for (int i = 0; i < CODE_LENGTH; i++) {
-            code.append(random.nextInt(10));
+        char[] code = new char[CODE_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), code, 0);
+        long value = body;
+        for (int i = PREFIX.length() + BODY_LENGTH - 1; i >= PREFIX.length(); i--) {
+            code[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
         }
-
-        return code.toString();
+        int check = checksum(body);
+        code[CODE_LENGTH - 2] = ALPHABET[check >>> 5];
+        code[CODE_LENGTH - 1] = ALPHABET[check & 31];
+        return new String(code);
     }
 
     /**
-     * Valide le format d'un code de réservation
+     * Valide le format et le caractère de contrôle d'un code de réservation
      */
     public boolean isValidFormat(String code) {
-        if (code == null || code.length() != PREFIX.length() + CODE_LENGTH) {
+        if (code == null) {
+            return false;
+        }
+        if (LEGACY_FORMAT.matcher(code).matches()) {
+            return true;
+        }
+        if (code.length() != CODE_LENGTH || !code.startsWith(PREFIX)) {
             return false;
         }
 
-        if (!code.startsWith(PREFIX)) {
+        for (int i = PREFIX.length(); i < CODE_LENGTH; i++) {
+            if (decodeValue(code.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        // 13 caractères portent 65 bits : le premier ne peut dépasser 15
+        if (decodeValue(code.charAt(PREFIX.length())) > 15) {
             return false;
         }
 
-        String numericPart = code.substring(PREFIX.length());
-        return numericPart.matches("\\d{" + CODE_LENGTH + "}");
+        int check = (decodeValue(code.charAt(CODE_LENGTH - 2)) << 5) | decodeValue(code.charAt(CODE_LENGTH - 1));
+        return check == checksum(decodeBody(code));
     }
 
+    /**
+     * Forme canonique d'un code saisi (majuscules, O lu comme 0, I et L lus comme 1)
+     */
+    public String normaliser(String code) {
+        if (code == null) {
+            return null;
+        }
+        return code.trim().toUpperCase()
+                .replace('O', '0')
+                .replace('I', '1')
+                .replace('L', '1');
+    }
+
+    /**
+     * Identifiant 64 bits porté par un code dont le corps a été validé
+     */
+    long decodeBody(String code) {
+        long value = 0;
+        for (int i = PREFIX.length(); i < PREFIX.length() + BODY_LENGTH; i++) {
+            value = (value << 5) | decodeValue(code.charAt(i));
+        }
+        return value;
+    }
+
+    private long nextSequence() {
+        while (true) {
+            long current = state.get();
+            long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+            // Séquence épuisée ou horloge en retard : on avance d'un cran l'horloge logique
+            long next = Math.max(now, current + 1);
+            if (state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    // Permutation de Feistel sur 64 bits : bijective, donc sans collision
+    private long scramble(long value) {
+        int left = (int) (value >>> 32);
+        int right = (int) value;
+        for (long roundKey : roundKeys) {
+            int next = left ^ mix(right, roundKey);
+            left = right;
+            right = next;
+        }
+        return ((long) left << 32) | (right & 0xFFFFFFFFL);
+    }
+
+    private static int mix(int half, long roundKey) {
+        long z = (half & 0xFFFFFFFFL) ^ roundKey;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31));
+    }
+
+    private int checksum(long body) {
+        byte[] digest = hmac(ByteBuffer.allocate(Long.BYTES).putLong(body).array());
+        return ((digest[0] & 0xFF) << 2) | ((digest[1] & 0xFF) >>> 6);
+    }
+
+    private byte[] hmac(byte[] data) {
+        Mac mac = macs.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        try {
+            return mac.doFinal(data);
+        } finally {
+            macs.offer(mac);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC indisponible", e);
+        }
+    }
+
+    private static int decodeValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        for (int i = 10; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int defaultNodeId() {
+        return ManagementFactory.getRuntimeMXBean().getName().hashCode() & ((1 << NODE_BITS) - 1);
+    }
 }
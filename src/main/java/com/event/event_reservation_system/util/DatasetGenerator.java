@@ -0,0 +1,381 @@
+package com.event.event_reservation_system.util;
+
+import com.event.event_reservation_system.modele.Categorie;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Générateur de jeu de données synthétique à grande échelle (utilisateurs, événements, réservations).
+ * Les tirages sont reproductibles (graine fixe), les lignes insérées par lots JDBC et les identifiants
+ * réservés d'un bloc dans les séquences, ce qui permet de charger des millions de réservations en quelques minutes.
+ * Les dates sont relatives à l'instant du chargement ; les codes de réservation viennent du
+ * {@link CodeGenerator} de l'application, comme ceux des réservations réelles.
+ */
+@Slf4j
+public class DatasetGenerator {
+
+    public static final long GRAINE_PAR_DEFAUT = 42L;
+    public static final String DOMAINE = "synthetique.event.ma";
+    public static final String[] VILLES = {
+            "Casablanca", "Rabat", "Marrakech", "Tanger", "Fès", "Agadir", "Essaouira", "Oujda"
+    };
+    private static final int[] POIDS_VILLES = {30, 18, 16, 10, 10, 8, 4, 4};
+
+    // Dans l'ordre de Categorie : CONCERT, THEATRE, CONFERENCE, SPORT, AUTRE
+    private static final int[] POIDS_CATEGORIES = {30, 20, 15, 25, 10};
+    private static final double[] PRIX_BASE_CATEGORIES = {150, 120, 40, 100, 30};
+
+    // 1 à 6 places par réservation
+    private static final int[] POIDS_PLACES = {45, 35, 10, 6, 3, 1};
+
+    private static final String[] PRENOMS = {
+            "Ahmed", "Fatima", "Youssef", "Khadija", "Omar", "Salma", "Karim", "Imane", "Mehdi", "Sara"
+    };
+    private static final String[] NOMS = {
+            "Alami", "Bennani", "Chraibi", "Idrissi", "Tazi", "Fassi", "Berrada", "Lahlou", "Naciri", "Sqalli"
+    };
+
+    private static final int LIGNES_PAR_TRANSACTION = 100_000;
+
+    // Statuts d'événement, indexés par un octet pour garder les tableaux compacts
+    private static final String[] STATUTS = {"PUBLIE", "BROUILLON", "TERMINE", "ANNULE"};
+    private static final byte PUBLIE = 0;
+    private static final byte BROUILLON = 1;
+    private static final byte TERMINE = 2;
+    private static final byte ANNULE = 3;
+
+    private final DataSource dataSource;
+    private final CodeGenerator codeGenerator;
+    private final String motDePasseHache;
+    private final long graine;
+    private final int tailleLot;
+
+    /**
+     * @param motDePasseHache hash commun à tous les comptes générés (un seul hachage pour N utilisateurs)
+     */
+    public DatasetGenerator(DataSource dataSource, CodeGenerator codeGenerator, String motDePasseHache,
+                            long graine, int tailleLot) {
+        this.dataSource = dataSource;
+        this.codeGenerator = codeGenerator;
+        this.motDePasseHache = motDePasseHache;
+        this.graine = graine;
+        this.tailleLot = tailleLot;
+    }
+
+    /**
+     * Indique si un jeu synthétique a déjà été chargé dans cette base
+     */
+    public boolean dejaCharge() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement st = connection.prepareStatement("SELECT COUNT(*) FROM users WHERE email LIKE ?")) {
+            st.setString(1, "%@" + DOMAINE);
+            try (ResultSet rs = st.executeQuery()) {
+                rs.next();
+                return rs.getLong(1) > 0;
+            }
+        }
+    }
+
+    /**
+     * Charge {@code utilisateurs} comptes (1 % d'organisateurs), {@code evenements} événements
+     * et {@code reservations} réservations, puis recale les compteurs de places et les séquences
+     */
+    public void generer(int utilisateurs, int evenements, long reservations) throws SQLException {
+        if (utilisateurs < 2 || evenements < 1 || reservations < 0) {
+            throw new IllegalArgumentException("Il faut au moins 2 utilisateurs et 1 événement");
+        }
+        long debut = System.nanoTime();
+        Random random = new Random(graine);
+        LocalDateTime maintenant = LocalDateTime.now().withNano(0);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            int organisateurs = Math.max(1, utilisateurs / 100);
+            long premierUtilisateur = insererUtilisateurs(connection, random, maintenant, utilisateurs, organisateurs);
+            log.info("{} utilisateurs générés", utilisateurs);
+
+            Evenements evts = insererEvenements(connection, random, maintenant, evenements,
+                    premierUtilisateur, organisateurs);
+            log.info("{} événements générés", evenements);
+
+            insererReservations(connection, random, maintenant, reservations, evts,
+                    premierUtilisateur + organisateurs, utilisateurs - organisateurs);
+            mettreAJourPlacesReservees(connection, evts);
+            log.info("{} réservations générées", reservations);
+
+            try (Statement st = connection.createStatement()) {
+                st.execute("ANALYZE");
+            }
+            connection.commit();
+        }
+        log.info("Jeu de données synthétique chargé en {} s", (System.nanoTime() - debut) / 1_000_000_000);
+    }
+
+    private long insererUtilisateurs(Connection connection, Random random, LocalDateTime maintenant,
+                                     int utilisateurs, int organisateurs) throws SQLException {
+        long premier = reserverIdentifiants(connection, "users_seq", utilisateurs);
+        try (PreparedStatement st = connection.prepareStatement("""
+                INSERT INTO users (id, nom, prenom, email, password, role, date_inscription, actif, telephone)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """)) {
+            for (int i = 0; i < utilisateurs; i++) {
+                String prenom = PRENOMS[random.nextInt(PRENOMS.length)];
+                String nom = NOMS[random.nextInt(NOMS.length)];
+                st.setLong(1, premier + i);
+                st.setString(2, nom);
+                st.setString(3, prenom);
+                st.setString(4, (prenom + "." + nom).toLowerCase(Locale.ROOT) + i + "@" + DOMAINE);
+                st.setString(5, motDePasseHache);
+                st.setString(6, i < organisateurs ? "ORGANIZER" : "CLIENT");
+                st.setTimestamp(7, Timestamp.valueOf(maintenant.minusMinutes(random.nextInt(2 * 365 * 24 * 60))));
+                st.setBoolean(8, random.nextInt(100) >= 2);
+                st.setString(9, String.format("06%08d", random.nextInt(100_000_000)));
+                ajouter(connection, st, i);
+            }
+            st.executeBatch();
+        }
+        connection.commit();
+        return premier;
+    }
+
+    private Evenements insererEvenements(Connection connection, Random random, LocalDateTime maintenant,
+                                         int evenements, long premierUtilisateur, int organisateurs) throws SQLException {
+        Evenements evts = new Evenements(reserverIdentifiants(connection, "events_seq", evenements), evenements);
+        Categorie[] categories = Categorie.values();
+
+        try (PreparedStatement st = connection.prepareStatement("""
+                INSERT INTO events (id, titre, description, categorie, date_debut, date_fin, lieu, ville,
+                    capacite_max, prix_unitaire, places_reservees, organisateur_id, statut, date_creation)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?)
+                """)) {
+            for (int i = 0; i < evenements; i++) {
+                // 20 % d'événements passés, les autres répartis sur l'année à venir
+                byte statut;
+                LocalDateTime debut;
+                if (random.nextInt(100) < 20) {
+                    statut = random.nextInt(100) < 95 ? TERMINE : ANNULE;
+                    debut = maintenant.minusDays(1 + random.nextInt(365));
+                } else {
+                    int tirage = random.nextInt(100);
+                    statut = tirage < 85 ? PUBLIE : tirage < 95 ? BROUILLON : ANNULE;
+                    debut = maintenant.plusDays(1 + random.nextInt(365));
+                }
+                debut = debut.withHour(14 + random.nextInt(8)).withMinute(30 * random.nextInt(2)).withSecond(0);
+                LocalDateTime creation = debut.minusDays(14 + random.nextInt(167));
+                if (creation.isAfter(maintenant)) {
+                    creation = maintenant.minusDays(random.nextInt(30));
+                }
+
+                int categorie = tirer(random, POIDS_CATEGORIES);
+                String ville = VILLES[tirer(random, POIDS_VILLES)];
+                // Capacité log-uniforme entre 50 et 5 000 places, prix arrondi à 10 DH
+                int capacite = (int) Math.round(50 * Math.pow(100, random.nextDouble()));
+                double prix = categorie == Categorie.CONFERENCE.ordinal() && random.nextInt(100) < 30
+                        ? 0.0
+                        : Math.round(PRIX_BASE_CATEGORIES[categorie] * (0.5 + 2 * random.nextDouble()) / 10) * 10.0;
+
+                evts.statuts[i] = statut;
+                evts.prix[i] = prix;
+                evts.creations[i] = creation.toEpochSecond(ZoneOffset.UTC);
+                evts.debuts[i] = debut.toEpochSecond(ZoneOffset.UTC);
+
+                st.setLong(1, evts.premier + i);
+                st.setString(2, categories[categorie].getLabel() + " à " + ville + " n°" + (i + 1));
+                st.setString(3, "Événement synthétique n°" + (i + 1));
+                st.setString(4, categories[categorie].name());
+                st.setTimestamp(5, Timestamp.valueOf(debut));
+                st.setTimestamp(6, Timestamp.valueOf(debut.plusHours(2 + random.nextInt(4))));
+                st.setString(7, "Salle " + (1 + random.nextInt(300)));
+                st.setString(8, ville);
+                st.setInt(9, capacite);
+                st.setDouble(10, prix);
+                st.setLong(11, premierUtilisateur + random.nextInt(organisateurs));
+                st.setString(12, STATUTS[statut]);
+                st.setTimestamp(13, Timestamp.valueOf(creation));
+                ajouter(connection, st, i);
+            }
+            st.executeBatch();
+        }
+        connection.commit();
+        return evts;
+    }
+
+    private void insererReservations(Connection connection, Random random, LocalDateTime maintenant,
+                                     long reservations, Evenements evts,
+                                     long premierClient, int clients) throws SQLException {
+        int[] reservables = evts.reservablesMelanges(random);
+        if (reservables.length == 0 || reservations == 0) {
+            return;
+        }
+        long premier = reserverIdentifiants(connection, "reservations_seq", reservations);
+        long instant = maintenant.toEpochSecond(ZoneOffset.UTC);
+
+        try (PreparedStatement st = connection.prepareStatement("""
+                INSERT INTO reservations (id, utilisateur_id, evenement_id, nombre_places, montant_total,
+                    date_reservation, statut, code_reservation)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """)) {
+            for (long r = 0; r < reservations; r++) {
+                // Popularité très inégale : une minorité d'événements concentre l'essentiel des ventes
+                int e = reservables[(int) (reservables.length * Math.pow(random.nextDouble(), 3))];
+                int places = 1 + tirer(random, POIDS_PLACES);
+                String statut = statutReservation(random, evts.statuts[e]);
+                if (!statut.equals("ANNULEE")) {
+                    evts.placesReservees[e] += places;
+                }
+
+                // Ventes plus nombreuses à l'approche de l'événement
+                long fenetre = Math.max(0, Math.min(instant, evts.debuts[e]) - evts.creations[e]);
+                long date = evts.creations[e] + (long) (fenetre * Math.sqrt(random.nextDouble()));
+
+                long id = premier + r;
+                st.setLong(1, id);
+                st.setLong(2, premierClient + random.nextInt(clients));
+                st.setLong(3, evts.premier + e);
+                st.setInt(4, places);
+                st.setDouble(5, places * evts.prix[e]);
+                st.setTimestamp(6, Timestamp.valueOf(LocalDateTime.ofEpochSecond(date, 0, ZoneOffset.UTC)));
+                st.setString(7, statut);
+                st.setString(8, codeGenerator.generateCode());
+                ajouter(connection, st, r);
+
+                if ((r + 1) % 1_000_000 == 0) {
+                    log.info("{} réservations insérées", r + 1);
+                }
+            }
+            st.executeBatch();
+        }
+        connection.commit();
+    }
+
+    // Les événements les plus demandés deviennent complets : la capacité suit le nombre de places vendues
+    private void mettreAJourPlacesReservees(Connection connection, Evenements evts) throws SQLException {
+        try (PreparedStatement st = connection.prepareStatement("""
+                UPDATE events SET places_reservees = ?, capacite_max = GREATEST(capacite_max, ?) WHERE id = ?
+                """)) {
+            long lignes = 0;
+            for (int e = 0; e < evts.placesReservees.length; e++) {
+                if (evts.placesReservees[e] > 0) {
+                    st.setInt(1, evts.placesReservees[e]);
+                    st.setInt(2, evts.placesReservees[e]);
+                    st.setLong(3, evts.premier + e);
+                    ajouter(connection, st, lignes++);
+                }
+            }
+            st.executeBatch();
+        }
+    }
+
+    private static String statutReservation(Random random, byte statutEvenement) {
+        int tirage = random.nextInt(100);
+        return switch (statutEvenement) {
+            case ANNULE -> "ANNULEE";
+            case TERMINE -> tirage < 85 ? "CONFIRMEE" : "ANNULEE";
+            default -> tirage < 70 ? "CONFIRMEE" : tirage < 90 ? "EN_ATTENTE" : "ANNULEE";
+        };
+    }
+
+    private void ajouter(Connection connection, PreparedStatement st, long ligne) throws SQLException {
+        st.addBatch();
+        if ((ligne + 1) % tailleLot == 0) {
+            st.executeBatch();
+        }
+        if ((ligne + 1) % LIGNES_PAR_TRANSACTION == 0) {
+            connection.commit();
+        }
+    }
+
+    private static int tirer(Random random, int[] poids) {
+        int total = 0;
+        for (int p : poids) {
+            total += p;
+        }
+        int tirage = random.nextInt(total);
+        for (int i = 0; i < poids.length; i++) {
+            tirage -= poids[i];
+            if (tirage < 0) {
+                return i;
+            }
+        }
+        return poids.length - 1;
+    }
+
+    /**
+     * Réserve un bloc d'identifiants en un seul NEXT VALUE, la séquence passant le temps d'un tirage
+     * à un incrément de la taille du bloc : l'application, qui sert déjà des requêtes, peut tirer
+     * ses propres blocs (pooled-lo) en même temps sans chevauchement. Le bloc n'est jamais plus petit
+     * que l'incrément d'origine, sur lequel Hibernate compte pour espacer ses blocs.
+     */
+    private static long reserverIdentifiants(Connection connection, String sequence, long nombre) throws SQLException {
+        long increment;
+        try (PreparedStatement st = connection.prepareStatement(
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?")) {
+            st.setString(1, sequence.toUpperCase(Locale.ROOT));
+            try (ResultSet rs = st.executeQuery()) {
+                rs.next();
+                increment = rs.getLong(1);
+            }
+        }
+        try (Statement st = connection.createStatement()) {
+            st.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + Math.max(nombre, increment));
+            try (ResultSet rs = st.executeQuery("SELECT NEXT VALUE FOR " + sequence)) {
+                rs.next();
+                return rs.getLong(1);
+            } finally {
+                st.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + increment);
+            }
+        }
+    }
+
+    /**
+     * Attributs des événements générés nécessaires aux réservations, en tableaux primitifs
+     */
+    private static final class Evenements {
+        final long premier;
+        final byte[] statuts;
+        final double[] prix;
+        final long[] creations;
+        final long[] debuts;
+        final int[] placesReservees;
+
+        Evenements(long premier, int nombre) {
+            this.premier = premier;
+            this.statuts = new byte[nombre];
+            this.prix = new double[nombre];
+            this.creations = new long[nombre];
+            this.debuts = new long[nombre];
+            this.placesReservees = new int[nombre];
+        }
+
+        // Les brouillons ne sont pas réservables ; l'ordre mélangé répartit les événements populaires
+        int[] reservablesMelanges(Random random) {
+            int nombre = 0;
+            int[] indices = new int[statuts.length];
+            for (int i = 0; i < statuts.length; i++) {
+                if (statuts[i] != BROUILLON) {
+                    indices[nombre++] = i;
+                }
+            }
+            for (int i = nombre - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = indices[i];
+                indices[i] = indices[j];
+                indices[j] = tmp;
+            }
+            return Arrays.copyOf(indices, nombre);
+        }
+    }
+}
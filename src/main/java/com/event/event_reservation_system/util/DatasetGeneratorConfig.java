@@ -0,0 +1,46 @@
+package com.event.event_reservation_system.util;
+
+import com.event.event_reservation_system.service.PopulariteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+
+/**
+ * Chargement du jeu de données synthétique au démarrage, avec le profil « dataset » :
+ * mvn spring-boot:run -Dspring-boot.run.profiles=dataset
+ */
+@Configuration
+@Profile("dataset")
+@Slf4j
+public class DatasetGeneratorConfig {
+
+    @Bean
+    public CommandLineRunner genererJeuDeDonnees(
+            DataSource dataSource,
+            PasswordEncoder passwordEncoder,
+            CodeGenerator codeGenerator,
+            PopulariteService populariteService,
+            @Value("${dataset.utilisateurs:10000}") int utilisateurs,
+            @Value("${dataset.evenements:50000}") int evenements,
+            @Value("${dataset.reservations:1000000}") long reservations,
+            @Value("${dataset.graine:42}") long graine,
+            @Value("${dataset.taille-lot:1000}") int tailleLot,
+            @Value("${dataset.mot-de-passe:Password123}") String motDePasse) {
+        return args -> {
+            DatasetGenerator generateur = new DatasetGenerator(
+                    dataSource, codeGenerator, passwordEncoder.encode(motDePasse), graine, tailleLot);
+            if (generateur.dejaCharge()) {
+                log.warn("Jeu de données synthétique déjà présent, chargement ignoré");
+                return;
+            }
+            generateur.generer(utilisateurs, evenements, reservations);
+            populariteService.recalculer();
+        };
+    }
+}
@@ -22,7 +22,7 @@ public class PasswordHashGenerator {
             System.out.println("Mot de passe en clair : " + rawPassword);
             System.out.println("Hash BCrypt           : " + hashedPassword);
             System.out.println("========================================");
-            System.out.println("\nCopiez ce hash dans votre data.sql !\n");
+            System.out.println("\nCopiez ce hash dans V2__donnees_initiales.sql !\n");
         };
     }
 }
\ No newline at end of file
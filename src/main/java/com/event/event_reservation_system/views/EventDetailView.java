@@ -1,6 +1,6 @@
 package com.event.event_reservation_system.views;
 
-import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.dto.EventDTO;
 import com.event.event_reservation_system.security.SecurityUtils;
 import com.event.event_reservation_system.service.EventService;
 import com.vaadin.flow.component.Component;
@@ -36,7 +36,7 @@ public class EventDetailView extends VerticalLayout implements BeforeEnterObserv
     private final DateTimeFormatter timeFormatter =
             DateTimeFormatter.ofPattern("HH:mm");
 
-    private Event event;
+    private EventDTO event;
     private Long eventId;
 
     public EventDetailView(EventService eventService, SecurityUtils securityUtils) {
@@ -53,7 +53,7 @@ public class EventDetailView extends VerticalLayout implements BeforeEnterObserv
     public void beforeEnter(BeforeEnterEvent event) {
         try {
             eventId = Long.parseLong(event.getRouteParameters().get("id").orElse("0"));
-            this.event = eventService.trouverParId(eventId);
+            this.event = eventService.consulter(eventId);
             createContent();
         } catch (Exception e) {
 
@@ -262,27 +262,27 @@ public class EventDetailView extends VerticalLayout implements BeforeEnterObserv
         // Avatar
         Div avatar = new Div();
         avatar.addClassName("organizer-avatar");
-        avatar.add(new Span(event.getOrganisateur().getPrenom().substring(0, 1).toUpperCase()));
+        avatar.add(new Span(event.getOrganisateurNom().substring(0, 1).toUpperCase()));
 
         // Info
         Div info = new Div();
         info.addClassName("organizer-info");
 
         Div name = new Div();
-        name.setText(event.getOrganisateur().getNomComplet());
+        name.setText(event.getOrganisateurNom());
         name.addClassName("organizer-name");
 
         Div email = new Div();
         email.addClassName("organizer-contact");
-        email.add(VaadinIcon.ENVELOPE.create(), new Span(event.getOrganisateur().getEmail()));
+        email.add(VaadinIcon.ENVELOPE.create(), new Span(event.getOrganisateurEmail()));
 
         info.add(name, email);
 
-        if (event.getOrganisateur().getTelephone() != null) {
+        if (event.getOrganisateurTelephone() != null) {
             Div phone = new Div();
             phone.addClassName("organizer-contact");
             phone.add(VaadinIcon.PHONE.create(),
-                    new Span(event.getOrganisateur().getTelephone()));
+                    new Span(event.getOrganisateurTelephone()));
             info.add(phone);
         }
 
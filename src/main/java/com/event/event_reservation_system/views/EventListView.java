@@ -1,5 +1,7 @@
 package com.event.event_reservation_system.views;
 
+import com.event.event_reservation_system.dto.CatalogueFacettes;
+import com.event.event_reservation_system.dto.CatalogueFiltre;
 import com.event.event_reservation_system.dto.EventDTO;
 import com.event.event_reservation_system.modele.Categorie;
 import com.event.event_reservation_system.service.EventService;
@@ -19,11 +21,14 @@ import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.*;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.ArrayList;
 
 @Route(value = "events", layout = UnifiedLayout.class)
 @PageTitle("Événements | EventManager")
@@ -40,15 +45,18 @@ public class EventListView extends VerticalLayout implements BeforeEnterObserver
     private DatePicker endDateFilter;
     private NumberField minPriceFilter;
     private NumberField maxPriceFilter;
+    private ComboBox<String> sortBy;
     private Div eventsContainer;
     private H1 mainTitle;
     private int currentPage = 0;
     private static final int PAGE_SIZE = 3;
     private int totalEvents = 0;
     private Div paginationContainer;
+    private CatalogueFacettes facettes;
 
     public EventListView(EventService eventService) {
         this.eventService = eventService;
+        this.facettes = eventService.getFacettesCatalogue(CatalogueFiltre.vide());
         setSizeFull();
         addClassName("events-list-modern");
         setPadding(false);
@@ -100,7 +108,7 @@ public class EventListView extends VerticalLayout implements BeforeEnterObserver
         categoryLabel.addClassName("filter-label");
         categoryFilter = new ComboBox<>();
         categoryFilter.setItems(Categorie.values());
-        categoryFilter.setItemLabelGenerator(Categorie::getLabel);
+        categoryFilter.setItemLabelGenerator(c -> libelleAvecCompte(c.getLabel(), facettes.categories().get(c)));
         categoryFilter.setPlaceholder("Toutes catégories");
         categoryFilter.setClearButtonVisible(true);
         categoryFilter.setPrefixComponent(VaadinIcon.TAGS.create());
@@ -139,7 +147,9 @@ public class EventListView extends VerticalLayout implements BeforeEnterObserver
         Span villeLabel = new Span("Ville:");
         villeLabel.addClassName("filter-label");
         villeFilter = new ComboBox<>();
-        villeFilter.setItems(eventService.getToutesLesVilles());
+        // Villes ayant au moins un événement disponible, lues dans l'index des facettes
+        villeFilter.setItems(new ArrayList<>(facettes.villes().keySet()));
+        villeFilter.setItemLabelGenerator(v -> libelleAvecCompte(v, facettes.villes().getOrDefault(v, 0)));
         villeFilter.setPlaceholder("Saisir une ville");
         villeFilter.setClearButtonVisible(true);
         villeFilter.setPrefixComponent(VaadinIcon.MAP_MARKER.create());
@@ -203,11 +213,12 @@ public class EventListView extends VerticalLayout implements BeforeEnterObserver
             searchField.clear();
             resetAndUpdate();
         });
-        ComboBox<String> sortBy = new ComboBox<>();
+        sortBy = new ComboBox<>();
         sortBy.setItems("Date", "Prix", "Popularité");
         sortBy.setPlaceholder("Trier par");
         sortBy.setPrefixComponent(VaadinIcon.ARROW_DOWN.create());
         sortBy.addClassNames("filter-input", "sort-select");
+        sortBy.addValueChangeListener(e -> resetAndUpdate());
         actionButtons.add(filterBtn, resetBtn, sortBy);
         row3.add(keywordWrapper, actionButtons);
 
@@ -244,22 +255,44 @@ public class EventListView extends VerticalLayout implements BeforeEnterObserver
         Double maxPrice = maxPriceFilter.getValue();
         LocalDateTime startDateTime = start != null ? start.atStartOfDay() : null;
         LocalDateTime endDateTime = end != null ? end.atTime(23, 59, 59) : null;
-        List<EventDTO> events = eventService.rechercherEvenementsDTO(
-                cat, null, ville, minPrice, maxPrice, startDateTime, endDateTime, keyword
+        // Compteurs des facettes (hors mot-clé) calculés en mémoire
+        facettes = eventService.getFacettesCatalogue(
+                new CatalogueFiltre(cat, ville, minPrice, maxPrice, startDateTime, endDateTime));
+        categoryFilter.getDataProvider().refreshAll();
+        villeFilter.getDataProvider().refreshAll();
+        // Mot-clé, disponibilité et filtres appliqués par l'index plein texte ; la base charge la page
+        Page<EventDTO> page = eventService.rechercherEvenementsTexteDTO(
+                keyword, cat, ville, minPrice, maxPrice, startDateTime, endDateTime,
+                PageRequest.of(currentPage, PAGE_SIZE, getSelectedSort(!keyword.isEmpty()))
         );
-        events = events.stream().filter(EventDTO::isDisponible).toList();
-        totalEvents = events.size();
-        int startIndex = currentPage * PAGE_SIZE;
-        int endIndex = Math.min(startIndex + PAGE_SIZE, totalEvents);
-        if (events.isEmpty()) {
+        totalEvents = (int) page.getTotalElements();
+        if (page.isEmpty()) {
             eventsContainer.add(createEmptyState());
         } else {
-            events.subList(startIndex, endIndex)
-                    .forEach(event -> eventsContainer.add(createEventCard(event)));
+            page.forEach(event -> eventsContainer.add(createEventCard(event)));
         }
         updatePagination();
     }
 
+    private String libelleAvecCompte(String libelle, Integer compte) {
+        return compte != null ? libelle + " (" + compte + ")" : libelle;
+    }
+
+    private Sort getSelectedSort(boolean rechercheTexte) {
+        String critere = sortBy != null ? sortBy.getValue() : null;
+        if (critere == null && rechercheTexte) {
+            // Classement par pertinence
+            return Sort.unsorted();
+        }
+        if ("Prix".equals(critere)) {
+            return Sort.by(Sort.Order.asc("prixUnitaire"), Sort.Order.asc("id"));
+        }
+        if ("Popularité".equals(critere)) {
+            return Sort.by(Sort.Order.desc("placesReservees"), Sort.Order.asc("id"));
+        }
+        return Sort.by(Sort.Order.asc("dateDebut"), Sort.Order.asc("id"));
+    }
+
     private void updatePagination() {
         paginationContainer.removeAll();
         int totalPages = (int) Math.ceil((double) totalEvents / PAGE_SIZE);
@@ -50,14 +50,7 @@ public class LoginView extends VerticalLayout implements BeforeEnterObserver {
         loginForm.setAction("login"); // Très important !
         loginForm.setForgotPasswordButtonVisible(false);
 
-        LoginI18n i18n = LoginI18n.createDefault();
-        i18n.getForm().setTitle("");
-        i18n.getForm().setUsername("Email");
-        i18n.getForm().setPassword("Mot de passe");
-        i18n.getForm().setSubmit("Se connecter");
-        i18n.getErrorMessage().setTitle("Identifiants incorrects");
-        i18n.getErrorMessage().setMessage("Vérifiez votre email et mot de passe");
-        loginForm.setI18n(i18n);
+        loginForm.setI18n(traductions("Identifiants incorrects", "Vérifiez votre email et mot de passe"));
 
         loginForm.addClassName("custom-login-form");
 
@@ -80,8 +73,25 @@ public class LoginView extends VerticalLayout implements BeforeEnterObserver {
     @Override
     public void beforeEnter(BeforeEnterEvent event) {
         // Affiche l'erreur si ?error dans l'URL
-        if (event.getLocation().getQueryParameters().getParameters().containsKey("error")) {
+        var parametres = event.getLocation().getQueryParameters().getParameters();
+        if (parametres.containsKey("error")) {
+            // Redirection de LoginRateLimitFilter
+            if (parametres.containsKey("limite")) {
+                loginForm.setI18n(traductions("Trop de tentatives",
+                        "Veuillez patienter quelques minutes avant de réessayer"));
+            }
             loginForm.setError(true);
         }
     }
-}
\ No newline at end of file
+
+    private static LoginI18n traductions(String titreErreur, String messageErreur) {
+        LoginI18n i18n = LoginI18n.createDefault();
+        i18n.getForm().setTitle("");
+        i18n.getForm().setUsername("Email");
+        i18n.getForm().setPassword("Mot de passe");
+        i18n.getForm().setSubmit("Se connecter");
+        i18n.getErrorMessage().setTitle(titreErreur);
+        i18n.getErrorMessage().setMessage(messageErreur);
+        return i18n;
+    }
+}
@@ -1,6 +1,6 @@
 package com.event.event_reservation_system.views;
 
-import com.event.event_reservation_system.modele.User;
+import com.event.event_reservation_system.security.CurrentUser;
 import com.event.event_reservation_system.security.SecurityUtils;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.applayout.AppLayout;
@@ -50,7 +50,7 @@ public class MainLayout extends AppLayout {
         rightSection.setAlignItems(FlexComponent.Alignment.CENTER);
         rightSection.setSpacing(true);
 
-        securityUtils.getCurrentUser().ifPresentOrElse(
+        securityUtils.getCurrentPrincipal().ifPresentOrElse(
                 user -> {
                     // CONNECTÉ
                     Span welcome = new Span("Bonjour, " + user.getPrenom());
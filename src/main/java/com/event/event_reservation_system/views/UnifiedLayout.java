@@ -1,6 +1,6 @@
 package com.event.event_reservation_system.views;
 
-import com.event.event_reservation_system.modele.User;
+import com.event.event_reservation_system.security.CurrentUser;
 import com.event.event_reservation_system.security.SecurityUtils;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.applayout.AppLayout;
@@ -40,7 +40,7 @@ public class UnifiedLayout extends AppLayout {
     }
 
     private void createAdaptiveHeader() {
-        securityUtils.getCurrentUser().ifPresentOrElse(
+        securityUtils.getCurrentPrincipal().ifPresentOrElse(
                 this::createAuthenticatedHeader,
                 this::createPublicHeader
         );
@@ -94,7 +94,7 @@ public class UnifiedLayout extends AppLayout {
     }
 
     // ==================== HEADER AUTHENTIFIÉ (Connecté) ====================
-    private void createAuthenticatedHeader(User user) {
+    private void createAuthenticatedHeader(CurrentUser user) {
         // Détermine le type de header selon le rôle
         String role = determineUserRole(user);
 
@@ -180,7 +180,7 @@ public class UnifiedLayout extends AppLayout {
     }
 
     // ==================== MENU DROPDOWN ADAPTATIF ====================
-    private Div createRoleBasedDropdown(User user, String role) {
+    private Div createRoleBasedDropdown(CurrentUser user, String role) {
         Div dropdown = new Div();
         dropdown.addClassName("menu-dropdown");
         dropdown.addClassName("hidden");
@@ -219,7 +219,7 @@ public class UnifiedLayout extends AppLayout {
     }
 
     // ==================== USER INFO MOBILE ====================
-    private Div createUserInfoMobile(User user, String role) {
+    private Div createUserInfoMobile(CurrentUser user, String role) {
         Div userInfoMobile = new Div();
         userInfoMobile.addClassName("user-info-mobile");
 
@@ -322,7 +322,7 @@ public class UnifiedLayout extends AppLayout {
     }
 
     // ==================== SECTION DÉCONNEXION ====================
-    private Div createLogoutSection(User user) {
+    private Div createLogoutSection(CurrentUser user) {
         Div section = new Div();
         section.addClassName("menu-section");
         section.addClassName("logout-section");
@@ -395,7 +395,7 @@ public class UnifiedLayout extends AppLayout {
         getUI().ifPresent(ui -> ui.navigate(route));
     }
 
-    private String determineUserRole(User user) {
+    private String determineUserRole(CurrentUser user) {
         if (user.getRole() == null) {
             return "CLIENT";
         }
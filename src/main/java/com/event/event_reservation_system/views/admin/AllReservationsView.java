@@ -1,6 +1,9 @@
 package com.event.event_reservation_system.views.admin;
 
+import com.event.event_reservation_system.dto.ReservationFilter;
+import com.event.event_reservation_system.dto.ReservationStats;
 import com.event.event_reservation_system.modele.*;
+import com.event.event_reservation_system.service.ReservationExportService;
 import com.event.event_reservation_system.service.ReservationService;
 import com.event.event_reservation_system.service.UserService;
 import com.event.event_reservation_system.views.UnifiedLayout;
@@ -27,9 +30,12 @@ import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.dom.Style;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.StreamResource;
 import jakarta.annotation.security.RolesAllowed;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 @Route(value = "admin/reservations", layout = UnifiedLayout.class)
 @PageTitle("Gestion des Réservations | Event Manager")
@@ -38,12 +44,16 @@ import java.util.List;
 public class AllReservationsView extends VerticalLayout {
 
     private final ReservationService reservationService;
+    private final ReservationExportService reservationExportService;
     private final UserService userService;
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd MMM yyyy");
 
+    private static final Sort SORT_RESERVATIONS =
+            Sort.by(Sort.Order.desc("dateReservation"), Sort.Order.desc("id"));
+
     private Grid<Reservation> grid;
-    private List<Reservation> allReservations;
-    private List<Reservation> filteredReservations;
+    private HorizontalLayout statsContainer;
+    private ReservationFilter currentFilter = ReservationFilter.vide();
 
     // Filtres
     private ComboBox<StatutReservation> statusFilter;
@@ -53,8 +63,11 @@ public class AllReservationsView extends VerticalLayout {
     private DatePicker dateFrom;
     private DatePicker dateTo;
 
-    public AllReservationsView(ReservationService reservationService, UserService userService) {
+    public AllReservationsView(ReservationService reservationService,
+                               ReservationExportService reservationExportService,
+                               UserService userService) {
         this.reservationService = reservationService;
+        this.reservationExportService = reservationExportService;
         this.userService = userService;
 
         // Classe CSS principale + taille pleine page
@@ -63,9 +76,6 @@ public class AllReservationsView extends VerticalLayout {
         setPadding(false);
         setSpacing(false);
 
-        allReservations = reservationService.listerToutesAvecUtilisateurEtEvenement();
-        filteredReservations = allReservations;
-
         // === Conteneur principal qui prend tout l'espace ===
         VerticalLayout mainCard = new VerticalLayout();
         mainCard.addClassName("main-card-full");
@@ -291,33 +301,29 @@ public class AllReservationsView extends VerticalLayout {
                 .setAutoWidth(true)
                 .setTextAlign(ColumnTextAlign.CENTER);
 
-        grid.setItems(filteredReservations);
         return grid;
     }
 
     private Component createStatsSection() {
-        long total = filteredReservations.size();
-        long confirmed = filteredReservations.stream().filter(r -> r.getStatut() == StatutReservation.CONFIRMEE).count();
-        long canceled = filteredReservations.stream().filter(r -> r.getStatut() == StatutReservation.ANNULEE).count();
-        double revenue = filteredReservations.stream()
-                .filter(r -> r.getStatut() == StatutReservation.CONFIRMEE)
-                .mapToDouble(Reservation::getMontantTotal)
-                .sum();
-
-        HorizontalLayout stats = new HorizontalLayout();
-        stats.setWidthFull();
-        stats.setJustifyContentMode(FlexComponent.JustifyContentMode.CENTER);
-        stats.setPadding(true);
-        stats.addClassName("stats-container");
-
-        stats.add(
-                createStatCard("1231", "Réservations à venir", "#6366f1"),
-                createStatCard("3044", "Réservations confirmées", "#10b981"),
-                createStatCard("418", "Réservations annulées", "#ef4444", true),
-                createStatCard(String.format("%.0f €", revenue), "Revenus Totaux", "#f59e0b")
-        );
+        statsContainer = new HorizontalLayout();
+        statsContainer.setWidthFull();
+        statsContainer.setJustifyContentMode(FlexComponent.JustifyContentMode.CENTER);
+        statsContainer.setPadding(true);
+        statsContainer.addClassName("stats-container");
+        return statsContainer;
+    }
+
+    private void updateStats() {
+        // Mêmes filtres que la grille, un seul aller-retour en base
+        ReservationStats stats = reservationService.getStatistiques(currentFilter);
 
-        return stats;
+        statsContainer.removeAll();
+        statsContainer.add(
+                createStatCard(String.valueOf(stats.aVenir()), "Réservations à venir", "#6366f1"),
+                createStatCard(String.valueOf(stats.confirmees()), "Réservations confirmées", "#10b981"),
+                createStatCard(String.valueOf(stats.annulees()), "Réservations annulées", "#ef4444", true),
+                createStatCard(String.format("%.0f €", stats.revenuConfirme()), "Revenus Totaux", "#f59e0b")
+        );
     }
 
     private Component createStatCard(String value, String label, String color, boolean isRed) {
@@ -351,7 +357,17 @@ public class AllReservationsView extends VerticalLayout {
         Button exportBtn = new Button("Exporter les données", VaadinIcon.DOWNLOAD.create());
         exportBtn.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
 
-        HorizontalLayout container = new HorizontalLayout(exportBtn);
+        // Le fichier est généré au téléchargement, avec les filtres actifs à ce moment-là
+        StreamResource resource = new StreamResource("reservations.csv",
+                (out, session) -> reservationExportService.exporterCsv(currentFilter, out));
+        resource.setContentType("text/csv; charset=UTF-8");
+        resource.setCacheTime(0);
+
+        Anchor download = new Anchor(resource, "");
+        download.getElement().setAttribute("download", true);
+        download.add(exportBtn);
+
+        HorizontalLayout container = new HorizontalLayout(download);
         container.setJustifyContentMode(FlexComponent.JustifyContentMode.END);
         container.setWidthFull();
         container.setPadding(true);
@@ -377,16 +393,14 @@ public class AllReservationsView extends VerticalLayout {
     }
 
     private void applyFilters() {
-        filteredReservations = allReservations.stream()
-                .filter(res -> statusFilter.getValue() == null || res.getStatut() == statusFilter.getValue())
-                .filter(res -> codeFilter.isEmpty() || res.getCodeReservation().toLowerCase().contains(codeFilter.getValue().toLowerCase()))
-                .filter(res -> userFilter.isEmpty() || res.getUtilisateur().getNomComplet().toLowerCase().contains(userFilter.getValue().toLowerCase())
-                        || res.getUtilisateur().getEmail().toLowerCase().contains(userFilter.getValue().toLowerCase()))
-                .filter(res -> eventFilter.isEmpty() || res.getEvenement().getTitre().toLowerCase().contains(eventFilter.getValue().toLowerCase()))
-                .filter(res -> dateFrom.isEmpty() || !res.getDateReservation().toLocalDate().isBefore(dateFrom.getValue()))
-                .filter(res -> dateTo.isEmpty() || !res.getDateReservation().toLocalDate().isAfter(dateTo.getValue()))
-                .toList();
-
+        currentFilter = new ReservationFilter(
+                statusFilter.getValue(),
+                codeFilter.getValue(),
+                userFilter.getValue(),
+                eventFilter.getValue(),
+                dateFrom.getValue(),
+                dateTo.getValue()
+        );
         updateGrid();
     }
 
@@ -397,11 +411,19 @@ public class AllReservationsView extends VerticalLayout {
         eventFilter.clear();
         dateFrom.clear();
         dateTo.clear();
-        filteredReservations = allReservations;
+        currentFilter = ReservationFilter.vide();
         updateGrid();
     }
 
     private void updateGrid() {
-        grid.setItems(filteredReservations);
+        // Chargement paresseux : seule la page affichée est lue en base
+        ReservationFilter filtre = currentFilter;
+        grid.setItems(
+                query -> reservationService.rechercherReservations(
+                        filtre, PageRequest.of(query.getPage(), query.getPageSize(), SORT_RESERVATIONS)
+                ).stream(),
+                query -> (int) reservationService.compterReservations(filtre)
+        );
+        updateStats();
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,7 @@
 package com.event.event_reservation_system.views.client;
 
 import com.event.event_reservation_system.modele.Reservation;
-import com.event.event_reservation_system.modele.User;
+import com.event.event_reservation_system.security.CurrentUser;
 import com.event.event_reservation_system.security.SecurityUtils;
 import com.event.event_reservation_system.service.ReservationService;
 import com.event.event_reservation_system.service.UserService;
@@ -47,7 +47,7 @@ public class DashboardView extends VerticalLayout {
         this.reservationService = reservationService;
         this.securityUtils = securityUtils;
 
-        User user = securityUtils.getCurrentUser()
+        CurrentUser user = securityUtils.getCurrentPrincipal()
                 .orElseThrow(() -> new RuntimeException("Utilisateur non connecté"));
 
         setSizeFull();
@@ -64,7 +64,7 @@ public class DashboardView extends VerticalLayout {
     }
 
     /* ================= HERO ================= */
-    private Component createHero(User user) {
+    private Component createHero(CurrentUser user) {
 
         Div hero = new Div();
         hero.addClassName("hero-pro");
@@ -100,7 +100,7 @@ public class DashboardView extends VerticalLayout {
     }
 
     /* ================= INSIGHTS ================= */
-    private Component createInsights(User user) {
+    private Component createInsights(CurrentUser user) {
 
         Map<String, Object> stats =
                 userService.getStatistiquesUtilisateur(user.getId());
@@ -168,7 +168,7 @@ public class DashboardView extends VerticalLayout {
     }
 
     /* ================= MAIN CONTENT ================= */
-    private Component createMainContent(User user) {
+    private Component createMainContent(CurrentUser user) {
 
         HorizontalLayout grid = new HorizontalLayout(
                 createTimeline(user),
@@ -183,7 +183,7 @@ public class DashboardView extends VerticalLayout {
     }
 
     /* ================= TIMELINE EVENTS ================= */
-    private Component createTimeline(User user) {
+    private Component createTimeline(CurrentUser user) {
 
         Div box = new Div();
         box.addClassName("card");
@@ -226,7 +226,7 @@ public class DashboardView extends VerticalLayout {
     }
 
     /* ================= ACTIVITY FEED ================= */
-    private Component createActivityFeed(User user) {
+    private Component createActivityFeed(CurrentUser user) {
 
         Div box = new Div();
         box.addClassName("card");
@@ -2,7 +2,7 @@ package com.event.event_reservation_system.views.client;
 
 import com.event.event_reservation_system.modele.Reservation;
 import com.event.event_reservation_system.modele.StatutReservation;
-import com.event.event_reservation_system.modele.User;
+import com.event.event_reservation_system.security.CurrentUser;
 import com.event.event_reservation_system.security.SecurityUtils;
 import com.event.event_reservation_system.service.ReservationService;
 import com.event.event_reservation_system.views.UnifiedLayout;
@@ -60,7 +60,7 @@ public class MyReservationsView extends VerticalLayout {
         setSpacing(false);
         setAlignItems(Alignment.CENTER);
 
-        User currentUser = securityUtils.getCurrentUser()
+        CurrentUser currentUser = securityUtils.getCurrentPrincipal()
                 .orElseThrow(() -> new RuntimeException("Utilisateur non connecté"));
 
         allReservations = reservationService.getReservationsUtilisateur(currentUser.getId());
@@ -249,7 +249,7 @@ public class MyReservationsView extends VerticalLayout {
 
     private void performCancellation(Reservation reservation) {
         try {
-            User currentUser = securityUtils.getCurrentUser().orElseThrow();
+            CurrentUser currentUser = securityUtils.getCurrentPrincipal().orElseThrow();
             reservationService.annulerReservation(reservation.getId(), currentUser.getId());
 
             Notification.show("Réservation annulée avec succès", 3000, Notification.Position.TOP_CENTER)
@@ -1,8 +1,8 @@
 package com.event.event_reservation_system.views.client;
 
-import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.dto.EventDTO;
 import com.event.event_reservation_system.modele.Reservation;
-import com.event.event_reservation_system.modele.User;
+import com.event.event_reservation_system.security.CurrentUser;
 import com.event.event_reservation_system.security.SecurityUtils;
 import com.event.event_reservation_system.service.EventService;
 import com.event.event_reservation_system.service.ReservationService;
@@ -40,7 +40,7 @@ public class ReservationFormView extends VerticalLayout implements BeforeEnterOb
     private final SecurityUtils securityUtils;
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
-    private Event event;
+    private EventDTO event;
     private Long eventId;
 
     private IntegerField placesField;
@@ -69,7 +69,7 @@ public class ReservationFormView extends VerticalLayout implements BeforeEnterOb
                     beforeEnterEvent.getRouteParameters().get("id").orElse("0")
             );
 
-            event = eventService.trouverParId(eventId);
+            event = eventService.consulter(eventId);
 
             if (!event.isDisponible()) {
                 Notification.show(
@@ -408,7 +408,7 @@ public class ReservationFormView extends VerticalLayout implements BeforeEnterOb
                 return;
             }
 
-            User currentUser = securityUtils.getCurrentUser()
+            CurrentUser currentUser = securityUtils.getCurrentPrincipal()
                     .orElseThrow(() -> new RuntimeException("Utilisateur non connecté"));
 
             Reservation reservation = reservationService.creerReservation(
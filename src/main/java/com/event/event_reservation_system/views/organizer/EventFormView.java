@@ -2,7 +2,7 @@ package com.event.event_reservation_system.views.organizer;
 
 import com.event.event_reservation_system.modele.Categorie;
 import com.event.event_reservation_system.modele.Event;
-import com.event.event_reservation_system.modele.User;
+import com.event.event_reservation_system.security.CurrentUser;
 import com.event.event_reservation_system.security.SecurityUtils;
 import com.event.event_reservation_system.service.EventService;
 import com.event.event_reservation_system.views.UnifiedLayout;
@@ -439,7 +439,7 @@ public class EventFormView extends VerticalLayout implements BeforeEnterObserver
             Event eventToSave = isEditMode ? event : new Event();
             binder.writeBean(eventToSave);
 
-            User currentUser = securityUtils.getCurrentUser()
+            CurrentUser currentUser = securityUtils.getCurrentPrincipal()
                     .orElseThrow(() -> new RuntimeException("Utilisateur non connecté"));
 
             if (isEditMode) {
@@ -1,6 +1,7 @@
 package com.event.event_reservation_system.views.organizer;
 
-import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.dto.ReservationCursor;
+import com.event.event_reservation_system.dto.EventDTO;
 import com.event.event_reservation_system.modele.Reservation;
 import com.event.event_reservation_system.modele.StatutReservation;
 import com.event.event_reservation_system.service.EventService;
@@ -31,6 +32,9 @@ import jakarta.annotation.security.RolesAllowed;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 @Route(value = "organizer/event/:id/reservations", layout = UnifiedLayout.class)
 @PageTitle("Réservations | Event Manager")
@@ -42,11 +46,16 @@ public class EventReservationsView extends VerticalLayout implements BeforeEnter
     private final ReservationService reservationService;
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
-    private Event event;
+    private EventDTO event;
     private Grid<Reservation> grid;
     private TextField searchField;
     private ComboBox<StatutReservation> statusFilter;
-    private List<Reservation> allReservations;
+
+    // Écart maximal comblé depuis un curseur : au-delà, les lignes sautées seraient toutes chargées
+    private static final int SAUT_MAX = 200;
+
+    // Curseurs keyset connus : position dans la liste -> dernière réservation précédant cette position
+    private final NavigableMap<Integer, ReservationCursor> cursors = new TreeMap<>();
 
     public EventReservationsView(EventService eventService, ReservationService reservationService) {
         this.eventService = eventService;
@@ -65,8 +74,7 @@ public class EventReservationsView extends VerticalLayout implements BeforeEnter
                     beforeEnterEvent.getRouteParameters().get("id").orElse("0")
             );
 
-            event = eventService.trouverParId(eventId);
-            allReservations = reservationService.getReservationsEvenement(eventId);
+            event = eventService.consulter(eventId);
 
             createContent();
 
@@ -366,27 +374,51 @@ public class EventReservationsView extends VerticalLayout implements BeforeEnter
     }
 
     private void updateGrid() {
-        String searchTerm = searchField.getValue().toLowerCase();
+        String searchTerm = searchField.getValue();
         StatutReservation selectedStatus = statusFilter.getValue();
 
-        List<Reservation> filteredReservations = allReservations.stream()
-                .filter(reservation -> {
-                    boolean matchesSearch = searchTerm.isEmpty() ||
-                            reservation.getCodeReservation().toLowerCase().contains(searchTerm) ||
-                            reservation.getUtilisateur().getNomComplet().toLowerCase().contains(searchTerm);
+        // Chargement paresseux : seule la page visible est lue en base
+        cursors.clear();
+        cursors.put(0, null);
+        grid.setItems(
+                query -> fetchReservations(query.getOffset(), query.getLimit(), selectedStatus, searchTerm),
+                query -> (int) reservationService.compterReservationsEvenement(
+                        event.getId(), selectedStatus, searchTerm)
+        );
+    }
 
-                    boolean matchesStatus = selectedStatus == null ||
-                            reservation.getStatut() == selectedStatus;
+    private Stream<Reservation> fetchReservations(
+            int offset,
+            int limit,
+            StatutReservation statut,
+            String searchTerm
+    ) {
+        // Reprendre depuis le curseur connu le plus proche (défilement séquentiel : aucun saut)
+        Map.Entry<Integer, ReservationCursor> depart = cursors.floorEntry(offset);
+        int aSauter = offset - depart.getKey();
+
+        if (aSauter > SAUT_MAX) {
+            // Saut lointain (barre de défilement) : OFFSET en base plutôt que charger les lignes sautées
+            List<Reservation> page = reservationService.getReservationsEvenementADecalage(
+                    event.getId(), statut, searchTerm, offset, limit
+            );
+            if (!page.isEmpty()) {
+                cursors.put(offset + page.size(), ReservationCursor.of(page.get(page.size() - 1)));
+            }
+            return page.stream();
+        }
 
-                    return matchesSearch && matchesStatus;
-                })
-                .toList();
+        List<Reservation> page = reservationService.getReservationsEvenementApres(
+                event.getId(), statut, searchTerm, depart.getValue(), aSauter + limit
+        );
 
-        grid.setItems(filteredReservations);
+        if (!page.isEmpty()) {
+            cursors.put(depart.getKey() + page.size(), ReservationCursor.of(page.get(page.size() - 1)));
+        }
+        return page.stream().skip(aSauter);
     }
 
     private void refreshData() {
-        allReservations = reservationService.getReservationsEvenement(event.getId());
         updateGrid();
     }
-}
\ No newline at end of file
+}
@@ -2,7 +2,7 @@ package com.event.event_reservation_system.views.organizer;
 
 import com.event.event_reservation_system.modele.Event;
 import com.event.event_reservation_system.modele.Statut;
-import com.event.event_reservation_system.modele.User;
+import com.event.event_reservation_system.security.CurrentUser;
 import com.event.event_reservation_system.security.SecurityUtils;
 import com.event.event_reservation_system.service.EventService;
 import com.event.event_reservation_system.service.ReservationService;
@@ -65,10 +65,10 @@ public class MyEventsView extends VerticalLayout {
         setPadding(false);
         setSpacing(false);
 
-        User currentUser = securityUtils.getCurrentUser()
+        CurrentUser currentUser = securityUtils.getCurrentPrincipal()
                 .orElseThrow(() -> new RuntimeException("Utilisateur non connecté"));
 
-        allEvents = eventService.trouverParOrganisateur(currentUser);
+        allEvents = eventService.trouverParOrganisateur(currentUser.getId());
 
         // Conteneur principal centré
         Div mainContainer = new Div();
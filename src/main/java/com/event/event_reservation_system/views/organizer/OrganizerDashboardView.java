@@ -1,7 +1,7 @@
 package com.event.event_reservation_system.views.organizer;
 
 import com.event.event_reservation_system.modele.Statut;
-import com.event.event_reservation_system.modele.User;
+import com.event.event_reservation_system.security.CurrentUser;
 import com.event.event_reservation_system.security.SecurityUtils;
 import com.event.event_reservation_system.service.EventService;
 import com.event.event_reservation_system.views.MainLayout;
@@ -37,7 +37,7 @@ public class OrganizerDashboardView extends VerticalLayout {
         setSizeFull();
         addClassName("organizer-dashboard");
 
-        User currentUser = securityUtils.getCurrentUser()
+        CurrentUser currentUser = securityUtils.getCurrentPrincipal()
                 .orElseThrow(() -> new RuntimeException("Utilisateur non connecté"));
 
         add(
@@ -65,7 +65,7 @@ public class OrganizerDashboardView extends VerticalLayout {
         return container;
     }
 
-    private Component createStatsSection(User user) {
+    private Component createStatsSection(CurrentUser user) {
         Map<String, Object> stats = eventService.getStatistiquesOrganisateur(user.getId());
         @SuppressWarnings("unchecked")
         Map<Statut, Long> eventsByStatus = (Map<Statut, Long>) stats.get("nombreEvenementsParStatut");
@@ -1,6 +1,6 @@
 package com.event.event_reservation_system.views.organizer;
 
-import com.event.event_reservation_system.modele.User;
+import com.event.event_reservation_system.security.CurrentUser;
 import com.event.event_reservation_system.security.SecurityUtils;
 import com.event.event_reservation_system.views.HomeView;
 import com.vaadin.flow.component.UI;
@@ -43,7 +43,7 @@ public class OrganizerLayout extends AppLayout {
 
 
         // === USER SECTION (À DROITE) ===
-        User user = securityUtils.getCurrentUser().orElseThrow();
+        CurrentUser user = securityUtils.getCurrentPrincipal().orElseThrow();
 
         // Avatar avec gradient personnalisé
         Avatar avatar = new Avatar(user.getPrenom() + " " + user.getNom());
@@ -99,7 +99,7 @@ public class OrganizerLayout extends AppLayout {
         addToNavbar(navbarContainer);
     }
 
-    private Div createMenuDropdown(User user) {
+    private Div createMenuDropdown(CurrentUser user) {
         Div dropdown = new Div();
         dropdown.addClassName("menu-dropdown");
         dropdown.addClassName("hidden");
@@ -0,0 +1,60 @@
+-- Fichier: src/main/resources/db/migration/V1__schema_initial.sql
+-- Schéma initial (équivalent de l'ancien ddl-auto=create-drop)
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE events_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE reservations_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id               BIGINT       NOT NULL PRIMARY KEY,
+    nom              VARCHAR(255) NOT NULL,
+    prenom           VARCHAR(255) NOT NULL,
+    email            VARCHAR(255) NOT NULL,
+    password         VARCHAR(255) NOT NULL,
+    role             VARCHAR(32)  NOT NULL,
+    date_inscription TIMESTAMP(6) NOT NULL,
+    actif            BOOLEAN      NOT NULL,
+    telephone        VARCHAR(255),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE events (
+    id                BIGINT        NOT NULL PRIMARY KEY,
+    titre             VARCHAR(255)  NOT NULL,
+    description       VARCHAR(1000),
+    categorie         VARCHAR(32)   NOT NULL,
+    date_debut        TIMESTAMP(6)  NOT NULL,
+    date_fin          TIMESTAMP(6)  NOT NULL,
+    lieu              VARCHAR(255)  NOT NULL,
+    ville             VARCHAR(255)  NOT NULL,
+    capacite_max      INTEGER       NOT NULL,
+    prix_unitaire     DOUBLE PRECISION NOT NULL,
+    image_url         VARCHAR(255),
+    places_reservees  INTEGER       DEFAULT 0 NOT NULL,
+    organisateur_id   BIGINT        NOT NULL,
+    statut            VARCHAR(32)   NOT NULL,
+    date_creation     TIMESTAMP(6)  NOT NULL,
+    date_modification TIMESTAMP(6),
+    CONSTRAINT fk_events_organisateur FOREIGN KEY (organisateur_id) REFERENCES users (id)
+);
+
+CREATE TABLE reservations (
+    id               BIGINT           NOT NULL PRIMARY KEY,
+    utilisateur_id   BIGINT           NOT NULL,
+    evenement_id     BIGINT           NOT NULL,
+    nombre_places    INTEGER          NOT NULL,
+    montant_total    DOUBLE PRECISION NOT NULL,
+    date_reservation TIMESTAMP(6)     NOT NULL,
+    statut           VARCHAR(32)      NOT NULL,
+    code_reservation VARCHAR(255)     NOT NULL,
+    commentaire      VARCHAR(500),
+    CONSTRAINT uk_reservations_code UNIQUE (code_reservation),
+    CONSTRAINT fk_reservations_utilisateur FOREIGN KEY (utilisateur_id) REFERENCES users (id),
+    CONSTRAINT fk_reservations_evenement FOREIGN KEY (evenement_id) REFERENCES events (id)
+);
+
+CREATE TABLE job_locks (
+    nom                VARCHAR(64)  NOT NULL PRIMARY KEY,
+    verrouille_jusqua  TIMESTAMP(6) NOT NULL,
+    verrouille_par     VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,20 @@
+-- Fichier: src/main/resources/db/migration/V3__index_requetes_frequentes.sql
+-- Index composites des requêtes fréquentes (déclarés aussi dans les @Table des entités)
+
+-- countPlacesReserveesForEvent, aggregateByStatutForEvent, annulation d'un événement
+CREATE INDEX idx_reservations_evenement_statut ON reservations (evenement_id, statut);
+
+-- findByUtilisateurWithEvent, findByUtilisateurOrderByDateReservationDesc
+CREATE INDEX idx_reservations_utilisateur_date ON reservations (utilisateur_id, date_reservation);
+
+-- Tri des listes d'administration et findByDateCreationAfter
+CREATE INDEX idx_reservations_date ON reservations (date_reservation, id);
+
+-- findAvailableEvents, findEventsToMarkAsFinished, catalogue public
+CREATE INDEX idx_events_statut_date_fin ON events (statut, date_fin);
+
+-- findByCategorieAndStatut
+CREATE INDEX idx_events_categorie_statut ON events (categorie, statut);
+
+-- findByOrganisateur
+CREATE INDEX idx_events_organisateur ON events (organisateur_id);
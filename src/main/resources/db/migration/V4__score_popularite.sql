@@ -0,0 +1,18 @@
+-- Fichier: src/main/resources/db/migration/V4__score_popularite.sql
+-- Score de popularité dénormalisé par événement, maintenu par PopulariteService
+
+ALTER TABLE events ADD COLUMN score_popularite DOUBLE PRECISION DEFAULT 0 NOT NULL;
+
+-- findMostPopularDTO : parcours de l'index dans l'ordre du score, arrêt après K lignes
+CREATE INDEX idx_events_statut_score ON events (statut, score_popularite DESC, id DESC);
+
+-- Scores initiaux avec les valeurs par défaut (demi-vie 7 jours, fenêtre 30 jours,
+-- origine 2025-01-01) ; le recalcul planifié réaligne sur la configuration courante
+UPDATE events e SET score_popularite = COALESCE((
+    SELECT SUM(r.nombre_places * POWER(2.0,
+            DATEDIFF('SECOND', TIMESTAMP '2025-01-01 00:00:00', r.date_reservation) / 604800.0))
+    FROM reservations r
+    WHERE r.evenement_id = e.id
+      AND r.statut = 'CONFIRMEE'
+      AND r.date_reservation >= DATEADD('DAY', -30, CURRENT_TIMESTAMP)
+), 0);
@@ -0,0 +1,4 @@
+-- Fichier: src/main/resources/db/migration/V5__index_reservations_evenement_date.sql
+-- Pagination par clé des réservations d'un événement (findByEvenementPremierePage, findByEvenementApres) :
+-- l'index fournit l'ordre (date_reservation DESC, id DESC) et le point de reprise après le curseur
+CREATE INDEX idx_reservations_evenement_date ON reservations (evenement_id, date_reservation, id);
@@ -0,0 +1,10 @@
+-- Fichier: src/main/resources/db/migration/V6__origine_popularite.sql
+-- Origine des poids de popularité, partagée entre les instances et réancrée à chaque recalcul
+-- (début de la fenêtre) : les exposants restent bornés par fenêtre / demi-vie.
+-- Valeur initiale : l'origine fixe avec laquelle V4 a calculé les scores existants.
+CREATE TABLE popularite_origine (
+    id       INT          NOT NULL PRIMARY KEY,
+    origine  TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO popularite_origine (id, origine) VALUES (1, TIMESTAMP '2025-01-01 00:00:00');
@@ -0,0 +1,197 @@
+package com.event.event_reservation_system.Repositories;
+
+import com.event.event_reservation_system.dto.ReservationFilter;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.Statut;
+import com.event.event_reservation_system.modele.StatutReservation;
+import com.event.event_reservation_system.modele.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans H2 des requêtes fréquentes des repositories : le SQL généré par Hibernate
+ * est capturé pendant l'appel puis passé à EXPLAIN, aucune ne doit parcourir une table entière
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplan",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.event.event_reservation_system.Repositories.QueryPlanTest$CaptureSql"
+})
+class QueryPlanTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private static final Sort TRI_GRILLE = Sort.by(Sort.Direction.DESC, "dateReservation", "id");
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Event evenement;
+
+    private User client;
+
+    private User organisateur;
+
+    @BeforeEach
+    void chargerLesParametres() {
+        evenement = eventRepository.findAll(PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0);
+        client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        organisateur = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+    }
+
+    static Stream<Arguments> requetes() {
+        ReservationFilter periode = new ReservationFilter(StatutReservation.CONFIRMEE, null, null, null,
+                LocalDate.now().minusDays(7), LocalDate.now());
+        return Stream.of(
+                requete("ReservationRepository.findByEvenementPremierePage", t -> t.reservationRepository
+                        .findByEvenementPremierePage(t.evenement.getId(), null, null, Limit.of(20))),
+                requete("ReservationRepository.findByEvenementApres", t -> t.reservationRepository
+                        .findByEvenementApres(t.evenement.getId(), StatutReservation.CONFIRMEE, null,
+                                NOW, Long.MAX_VALUE, Limit.of(20))),
+                requete("ReservationRepository.findByEvenementDecalage", t -> t.reservationRepository
+                        .findByEvenementDecalage(t.evenement.getId(), null, null, 400, 20)),
+                requete("ReservationRepository.countByEvenementFiltres", t -> t.reservationRepository
+                        .countByEvenementFiltres(t.evenement.getId(), null, null)),
+                requete("ReservationRepository.findSlice (période)", t -> t.reservationRepository
+                        .findSlice(periode, PageRequest.of(0, 20, TRI_GRILLE))),
+                requete("ReservationRepository.count (période)", t -> t.reservationRepository
+                        .count(ReservationSpecifications.avecFiltres(periode))),
+                requete("ReservationRepository.aggregateStats (période)", t -> t.reservationRepository
+                        .aggregateStats(periode, NOW)),
+                requete("ReservationRepository.countPlacesReserveesForEvent", t -> t.reservationRepository
+                        .countPlacesReserveesForEvent(t.evenement)),
+                requete("ReservationRepository.findByUtilisateurWithEvent", t -> t.reservationRepository
+                        .findByUtilisateurWithEvent(t.client)),
+                requete("ReservationRepository.findIdsNonAnnuleesByEvenement", t -> t.reservationRepository
+                        .findIdsNonAnnuleesByEvenement(t.evenement, Limit.of(500))),
+                requete("ReservationRepository.findByCodeReservation", t -> t.reservationRepository
+                        .findByCodeReservation("EVT-10001")),
+                requete("ReservationRepository.findByDateCreationAfter", t -> t.reservationRepository
+                        .findByDateCreationAfter(NOW.minusDays(1))),
+                requete("EventRepository.searchAvailableWithFiltersDTO", t -> t.eventRepository
+                        .searchAvailableWithFiltersDTO(Categorie.CONCERT, null, null, null, null, null, null,
+                                NOW, PageRequest.of(0, 12, Sort.by("dateDebut")))),
+                requete("EventRepository.findMostPopularDTO", t -> t.eventRepository
+                        .findMostPopularDTO(NOW, Limit.of(6))),
+                requete("EventRepository.findAvailableEventsDTO", t -> t.eventRepository
+                        .findAvailableEventsDTO(NOW)),
+                requete("EventRepository.findIdsToMarkAsFinished", t -> t.eventRepository
+                        .findIdsToMarkAsFinished(NOW, Limit.of(500))),
+                requete("EventRepository.findByCategorieAndStatutDTO", t -> t.eventRepository
+                        .findByCategorieAndStatutDTO(Categorie.CONCERT, Statut.PUBLIE, PageRequest.of(0, 6))),
+                requete("EventRepository.findByOrganisateur", t -> t.eventRepository
+                        .findByOrganisateur(t.organisateur)),
+                requete("UserRepository.findByEmail", t -> t.userRepository
+                        .findByEmail("client1@event.ma"))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("requetes")
+    void laRequeteUtiliseUnIndex(String requete, Consumer<QueryPlanTest> appel) throws SQLException {
+        List<String> sqls = CaptureSql.pendant(() -> appel.accept(this));
+
+        assertThat(sqls).as("SQL émis par %s", requete).isNotEmpty();
+        for (String sql : sqls) {
+            String plan = expliquer(sql);
+            assertThat(plan)
+                    .as("Plan de %s :%n%s", requete, plan)
+                    .doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    @Test
+    void lesFiltresReutilisentLesJointuresDuFetch() {
+        ReservationFilter filtre = new ReservationFilter(null, null, "client1", "concert", null, null);
+
+        List<String> sqls = CaptureSql.pendant(() -> reservationRepository.findSlice(filtre, PageRequest.of(0, 20, TRI_GRILLE)));
+
+        assertThat(sqls).singleElement().satisfies(sql -> {
+            assertThat(Pattern.compile("(?i)join users ").matcher(sql).results().count()).as(sql).isEqualTo(1);
+            assertThat(Pattern.compile("(?i)join events ").matcher(sql).results().count()).as(sql).isEqualTo(1);
+        });
+    }
+
+    /**
+     * H2 choisit le plan à la préparation : les paramètres sont liés à NULL pour l'EXPLAIN
+     */
+    private String expliquer(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parametres = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parametres; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    private static Arguments requete(String nom, Consumer<QueryPlanTest> appel) {
+        return Arguments.of(nom, appel);
+    }
+
+    /**
+     * Capture les SELECT préparés par Hibernate sur le thread du test
+     */
+    public static class CaptureSql implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> CAPTURES = new ThreadLocal<>();
+
+        static List<String> pendant(Runnable appel) {
+            List<String> sqls = new ArrayList<>();
+            CAPTURES.set(sqls);
+            try {
+                appel.run();
+            } finally {
+                CAPTURES.remove();
+            }
+            return sqls;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> sqls = CAPTURES.get();
+            if (sqls != null && sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                sqls.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.event.event_reservation_system.benchmark;
+
+import com.event.event_reservation_system.EventReservationSystemApplication;
+import com.event.event_reservation_system.util.CodeGenerator;
+import com.event.event_reservation_system.util.DatasetGenerator;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Contexte Spring complet sur une base H2 en mémoire dédiée, sans cache, pour mesurer les services :
+ * contexte servlet simulé (comme @SpringBootTest), propriétés surchargées au besoin,
+ * ou serveur Tomcat réel sur un port libre
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext demarrer(String base, String... proprietes) {
+        return application(base)
+                .contextFactory(type -> {
+                    AnnotationConfigServletWebApplicationContext context =
+                            new AnnotationConfigServletWebApplicationContext();
+                    context.setServletContext(new MockServletContext());
+                    return context;
+                })
+                // Arguments de ligne de commande : prioritaires sur application.properties
+                .run(Arrays.stream(proprietes).map(propriete -> "--" + propriete).toArray(String[]::new));
+    }
+
+    /**
+     * Démarre l'application avec son serveur web (port aléatoire, actuator désactivé)
+     */
+    static ConfigurableApplicationContext demarrerServeur(String base, boolean threadsVirtuels) {
+        return application(base)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=-1",
+                        "spring.threads.virtual.enabled=" + threadsVirtuels)
+                .run();
+    }
+
+    /**
+     * Charge le jeu de données synthétique (graine par défaut) : 1 000 clients et organisateurs
+     */
+    static void charger(ConfigurableApplicationContext context, int evenements, long reservations) throws SQLException {
+        String motDePasse = context.getBean(PasswordEncoder.class).encode("Password123");
+        new DatasetGenerator(context.getBean(DataSource.class), context.getBean(CodeGenerator.class), motDePasse,
+                DatasetGenerator.GRAINE_PAR_DEFAUT, 1000)
+                .generer(1000, evenements, reservations);
+    }
+
+    private static SpringApplicationBuilder application(String base) {
+        return new SpringApplicationBuilder(EventReservationSystemApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + base + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+                        "spring.cache.type=none",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.com.event=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "vaadin.launch-browser=false");
+    }
+}
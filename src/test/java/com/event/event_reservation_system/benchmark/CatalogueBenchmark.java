@@ -0,0 +1,72 @@
+package com.event.event_reservation_system.benchmark;
+
+import com.event.event_reservation_system.dto.EventDTO;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Statut;
+import com.event.event_reservation_system.service.EventService;
+import com.event.event_reservation_system.service.PopulariteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectures du catalogue public par EventService, sans cache, selon le volume d'événements
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogueBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int evenements;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+
+    @Setup
+    public void setup() throws SQLException {
+        context = BenchmarkContext.demarrer("catalogue" + evenements);
+        BenchmarkContext.charger(context, evenements, 2L * evenements);
+        context.getBean(PopulariteService.class).recalculer();
+        eventService = context.getBean(EventService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EventDTO> rechercherParCategorieEtVille() {
+        return eventService.rechercherEvenementsDTO(Categorie.CONCERT, Statut.PUBLIE, "Marrakech",
+                null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<EventDTO> rechercherParMotCle() {
+        return eventService.rechercherEvenementsDTO(null, Statut.PUBLIE, null,
+                null, 200.0, null, null, "Rabat");
+    }
+
+    @Benchmark
+    public List<EventDTO> evenementsPopulaires() {
+        return eventService.getEvenementsPopulairesDTO(6);
+    }
+}
@@ -0,0 +1,147 @@
+package com.event.event_reservation_system.benchmark;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Simulation de charge du catalogue : des navigateurs concurrents (5 000 par défaut) ouvrent
+ * l'accueil puis la liste des événements comme le client Vaadin (requêtes d'initialisation
+ * de l'interface, qui exécutent les vues côté serveur), avec un temps de réflexion entre deux pages.
+ * Lancée une fois par mode de threads (profil Maven « charge ») pour comparer débit, latence et mémoire.
+ * Les navigateurs simulés tournent dans la même JVM, sur des threads virtuels dans les deux modes :
+ * leur coût est identique d'une exécution à l'autre.
+ */
+public final class CatalogueLoadSimulation {
+
+    private static final List<String> PAGES = List.of("", "events");
+
+    private CatalogueLoadSimulation() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean threadsVirtuels = Boolean.getBoolean("spring.threads.virtual.enabled");
+        int navigateurs = Integer.getInteger("charge.navigateurs", 5000);
+        Duration duree = Duration.parse(System.getProperty("charge.duree", "PT60S"));
+        Duration montee = Duration.parse(System.getProperty("charge.montee", "PT20S"));
+
+        try (ConfigurableApplicationContext context =
+                     BenchmarkContext.demarrerServeur("charge", threadsVirtuels)) {
+            BenchmarkContext.charger(context, 10_000, 100_000);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            System.gc();
+
+            Resultat resultat = simuler("http://localhost:" + port + "/", navigateurs, duree, montee);
+            System.out.printf("%s : %d navigateurs, %d pages en %d s (%.1f pages/s), p50 %.0f ms, p99 %.0f ms, "
+                            + "%d erreur(s), tas max %d Mo, threads max %d%n",
+                    threadsVirtuels ? "threads virtuels" : "threads plateforme",
+                    navigateurs, resultat.pages(), duree.toSeconds(),
+                    (double) resultat.pages() / duree.toSeconds(),
+                    resultat.p50Millis(), resultat.p99Millis(), resultat.erreurs(),
+                    resultat.tasMaxOctets() / (1024 * 1024), resultat.threadsMax());
+        }
+    }
+
+    private static Resultat simuler(String base, int navigateurs, Duration duree, Duration montee)
+            throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Timer latence = Timer.builder("charge.page")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        AtomicLong erreurs = new AtomicLong();
+        LongAccumulator tasMax = new LongAccumulator(Math::max, 0);
+        MemoryMXBean memoire = ManagementFactory.getMemoryMXBean();
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+
+        long fin = System.nanoTime() + montee.toNanos() + duree.toNanos();
+        long debutMesure = System.nanoTime() + montee.toNanos();
+
+        // Exécuteur propre au client HTTP : celui des navigateurs est arrêté dès la dernière soumission
+        try (ExecutorService reseau = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(reseau)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            clients.submit(() -> {
+                while (System.nanoTime() < fin) {
+                    tasMax.accumulate(memoire.getHeapMemoryUsage().getUsed());
+                    Thread.sleep(500);
+                }
+                return null;
+            });
+
+            for (int i = 0; i < navigateurs; i++) {
+                // Arrivées réparties sur la montée en charge
+                long arrivee = montee.toNanos() * i / navigateurs;
+                clients.submit(() -> {
+                    TimeUnit.NANOSECONDS.sleep(arrivee);
+                    String cookie = null;
+                    while (System.nanoTime() < fin) {
+                        for (String page : PAGES) {
+                            long debut = System.nanoTime();
+                            try {
+                                HttpRequest.Builder requete = HttpRequest
+                                        .newBuilder(URI.create(base + "?v-r=init&location=" + page + "&query="))
+                                        .timeout(Duration.ofSeconds(30));
+                                if (cookie != null) {
+                                    requete.header("Cookie", cookie);
+                                }
+                                HttpResponse<Void> reponse = http.send(requete.build(),
+                                        HttpResponse.BodyHandlers.discarding());
+                                if (reponse.statusCode() != 200) {
+                                    erreurs.incrementAndGet();
+                                }
+                                cookie = reponse.headers().firstValue("Set-Cookie")
+                                        .map(valeur -> valeur.split(";", 2)[0])
+                                        .orElse(cookie);
+                            } catch (Exception e) {
+                                erreurs.incrementAndGet();
+                            }
+                            if (debut >= debutMesure) {
+                                latence.record(System.nanoTime() - debut, TimeUnit.NANOSECONDS);
+                            }
+                            // Temps de lecture de la page
+                            Thread.sleep(ThreadLocalRandom.current().nextLong(1000, 3000));
+                        }
+                    }
+                    return null;
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duree.plus(montee).plusMinutes(2).toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        HistogramSnapshot snapshot = latence.takeSnapshot();
+        ValueAtPercentile[] percentiles = snapshot.percentileValues();
+        return new Resultat(latence.count(),
+                percentiles[0].value(TimeUnit.MILLISECONDS),
+                percentiles[1].value(TimeUnit.MILLISECONDS),
+                erreurs.get(), tasMax.get(),
+                ManagementFactory.getThreadMXBean().getPeakThreadCount());
+    }
+
+    private record Resultat(long pages, double p50Millis, double p99Millis, long erreurs,
+                            long tasMaxOctets, int threadsMax) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.event.event_reservation_system.benchmark;
+
+import com.event.event_reservation_system.util.CodeGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Génération et validation des codes de réservation (sans base de données)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodeGeneratorBenchmark {
+
+    private CodeGenerator generator;
+    private String code;
+
+    @Setup
+    public void setup() {
+        generator = new CodeGenerator(1, "benchmark-secret", false);
+        code = generator.generateCode();
+    }
+
+    @Benchmark
+    public String generer() {
+        return generator.generateCode();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String genererConcurrent() {
+        return generator.generateCode();
+    }
+
+    @Benchmark
+    public boolean valider() {
+        return generator.isValidFormat(code);
+    }
+}
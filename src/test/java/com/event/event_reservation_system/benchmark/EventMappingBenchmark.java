@@ -0,0 +1,88 @@
+package com.event.event_reservation_system.benchmark;
+
+import com.event.event_reservation_system.dto.EventDTO;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.Role;
+import com.event.event_reservation_system.modele.Statut;
+import com.event.event_reservation_system.modele.User;
+import com.event.event_reservation_system.util.DatasetGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion entité vers DTO et calculs de places sur une page de 1 000 événements en mémoire
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    private static final int EVENEMENTS = 1_000;
+
+    private List<Event> events;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(DatasetGenerator.GRAINE_PAR_DEFAUT);
+        User organisateur = User.builder()
+                .id(2L).prenom("Hassan").nom("Alami").email("organizer1@event.ma").role(Role.ORGANIZER)
+                .build();
+        Categorie[] categories = Categorie.values();
+
+        events = new ArrayList<>(EVENEMENTS);
+        for (int i = 0; i < EVENEMENTS; i++) {
+            LocalDateTime debut = LocalDateTime.now().plusDays(1 + random.nextInt(365));
+            int capacite = 50 + random.nextInt(4951);
+            events.add(Event.builder()
+                    .id((long) i)
+                    .titre("Événement " + i)
+                    .description("Description " + i)
+                    .categorie(categories[random.nextInt(categories.length)])
+                    .dateDebut(debut)
+                    .dateFin(debut.plusHours(3))
+                    .lieu("Salle " + i)
+                    .ville(DatasetGenerator.VILLES[random.nextInt(DatasetGenerator.VILLES.length)])
+                    .capaciteMax(capacite)
+                    .prixUnitaire(10.0 * random.nextInt(51))
+                    .placesReservees(random.nextInt(capacite + 1))
+                    .organisateur(organisateur)
+                    .statut(Statut.PUBLIE)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<EventDTO> versDto() {
+        List<EventDTO> dtos = new ArrayList<>(events.size());
+        for (Event event : events) {
+            dtos.add(EventDTO.fromEntity(event, event.getPlacesReservees()));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public void placesDisponibles(Blackhole blackhole) {
+        for (Event event : events) {
+            blackhole.consume(event.getPlacesDisponibles());
+        }
+    }
+}
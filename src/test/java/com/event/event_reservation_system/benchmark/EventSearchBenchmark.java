@@ -0,0 +1,132 @@
+package com.event.event_reservation_system.benchmark;
+
+import com.event.event_reservation_system.dto.CatalogueFiltre;
+import com.event.event_reservation_system.dto.EventSearchDocument;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Statut;
+import com.event.event_reservation_system.service.EventSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche par mot-clé sur 100 000 événements : LIKE '%mot%' en base contre l'index Lucene
+ * (événements tous disponibles, page de 50 par pertinence)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSearchBenchmark {
+
+    private static final int EVENEMENTS = 100_000;
+    private static final LocalDateTime MAINTENANT = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final String[] MOTS = {
+            "Festival", "Concert", "Théâtre", "Conférence", "Marathon", "Salon", "Nuit", "Gnaoua",
+            "Jazz", "Cinéma", "Comédie", "Forum", "Derby", "Tournoi", "Livre", "Musique"
+    };
+    private static final String[] VILLES = {
+            "Casablanca", "Rabat", "Marrakech", "Tanger", "Fès", "Agadir", "Essaouira", "Oujda"
+    };
+
+    @Param({"theatre", "gnaoua", "marrakech"})
+    public String motCle;
+
+    private Connection connection;
+    private PreparedStatement like;
+    private EventSearchIndex index;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:searchbench;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS events");
+            st.execute("""
+                    CREATE TABLE events (
+                        id BIGINT PRIMARY KEY, titre VARCHAR(255), description VARCHAR(1000),
+                        lieu VARCHAR(255), ville VARCHAR(255)
+                    )
+                    """);
+        }
+
+        Random random = new Random(42);
+        List<EventSearchDocument> documents = new ArrayList<>(EVENEMENTS);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO events VALUES (?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= EVENEMENTS; id++) {
+                String titre = MOTS[random.nextInt(MOTS.length)] + " " + MOTS[random.nextInt(MOTS.length)] + " " + id;
+                String description = "Édition " + id + " : " + MOTS[random.nextInt(MOTS.length)] + " et "
+                        + MOTS[random.nextInt(MOTS.length)] + " pour tous les publics";
+                String ville = VILLES[random.nextInt(VILLES.length)];
+                String lieu = "Salle " + (id % 200) + " de " + ville;
+                documents.add(new EventSearchDocument(id, titre, description, lieu, ville, Categorie.CONCERT, 100.0,
+                        MAINTENANT.plusDays(id % 365), MAINTENANT.plusDays(id % 365).plusHours(3), Statut.PUBLIE, 0));
+
+                insert.setLong(1, id);
+                insert.setString(2, titre);
+                insert.setString(3, description);
+                insert.setString(4, lieu);
+                insert.setString(5, ville);
+                insert.addBatch();
+                if (id % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        // Requête actuelle du catalogue, limitée comme une page
+        like = connection.prepareStatement(
+                "SELECT id FROM events WHERE LOWER(titre) LIKE LOWER(CONCAT('%', ?, '%')) LIMIT 50");
+
+        index = new EventSearchIndex();
+        index.reconstruire(documents);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        index.fermer();
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Long> likeTitre() throws SQLException {
+        like.setString(1, motCle);
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet rs = like.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public List<Long> pleinTexte() {
+        return index.rechercher(motCle, CatalogueFiltre.vide(), MAINTENANT, Sort.unsorted(), 0, 50).ids();
+    }
+}
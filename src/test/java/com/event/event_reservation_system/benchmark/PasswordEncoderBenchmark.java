@@ -0,0 +1,76 @@
+package com.event.event_reservation_system.benchmark;
+
+import com.event.event_reservation_system.security.BoundedPasswordEncoder;
+import com.event.event_reservation_system.security.PasswordEncoderConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'une vérification de mot de passe à la connexion, par algorithme et par coût
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String MOT_DE_PASSE = "Password123";
+
+    // algorithme:coût (force BCrypt, ou mémoire Argon2 en Kio)
+    @Param({"bcrypt:10", "bcrypt:12", "bcrypt:14", "argon2:19456", "argon2:65536", "pbkdf2:0"})
+    private String configuration;
+
+    private PasswordEncoder encodeur;
+    private PasswordEncoder encodeurBorne;
+    private ExecutorService executor;
+    private String hachage;
+
+    @Setup
+    public void setup() {
+        String[] parties = configuration.split(":");
+        int cout = Integer.parseInt(parties[1]);
+        encodeur = PasswordEncoderConfig.delegatingPasswordEncoder(parties[0],
+                parties[0].equals("bcrypt") ? cout : 10,
+                parties[0].equals("argon2") ? cout : 19456, 2);
+        hachage = encodeur.encode(MOT_DE_PASSE);
+
+        executor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        encodeurBorne = new BoundedPasswordEncoder(encodeur, executor, Duration.ofMinutes(1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean verifier() {
+        return encodeur.matches(MOT_DE_PASSE, hachage);
+    }
+
+    // Pic de connexions : 16 threads de requête, hachages limités au pool dédié
+    @Benchmark
+    @Threads(16)
+    public boolean verifierSousChargeAvecPoolBorne() {
+        return encodeurBorne.matches(MOT_DE_PASSE, hachage);
+    }
+}
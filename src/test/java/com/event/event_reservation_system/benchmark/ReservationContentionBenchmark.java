@@ -0,0 +1,77 @@
+package com.event.event_reservation_system.benchmark;
+
+import com.event.event_reservation_system.modele.Reservation;
+import com.event.event_reservation_system.service.ReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Réservations concurrentes (8 threads) sur un petit nombre d'événements très demandés :
+ * mesure le coût de la mise à jour atomique du compteur de places sous contention
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(8)
+public class ReservationContentionBenchmark {
+
+    // 1 : tous les threads sur la même ligne ; 64 : contention répartie
+    @Param({"1", "64"})
+    public int evenementsDemandes;
+
+    private ConfigurableApplicationContext context;
+    private ReservationService reservationService;
+    private long[] evenements;
+
+    @Setup
+    public void setup() throws SQLException {
+        context = BenchmarkContext.demarrer("contention" + evenementsDemandes);
+        BenchmarkContext.charger(context, 10_000, 20_000);
+        reservationService = context.getBean(ReservationService.class);
+
+        // Événements publiés à venir, capacité suffisante pour toute la mesure
+        JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+        List<Long> ids = jdbc.queryForList("""
+                SELECT id FROM events
+                WHERE statut = 'PUBLIE' AND date_fin > CURRENT_TIMESTAMP
+                ORDER BY id FETCH FIRST ? ROWS ONLY
+                """, Long.class, evenementsDemandes);
+        evenements = ids.stream().mapToLong(Long::longValue).toArray();
+        for (long id : evenements) {
+            jdbc.update("UPDATE events SET capacite_max = 1000000000 WHERE id = ?", id);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Reservation creerReservation() {
+        long evenement = evenements[ThreadLocalRandom.current().nextInt(evenements.length)];
+        return reservationService.creerReservation(4L, evenement, 1, null);
+    }
+}
@@ -0,0 +1,112 @@
+package com.event.event_reservation_system.benchmark;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import com.event.event_reservation_system.Repositories.ReservationRepository;
+import com.event.event_reservation_system.Repositories.UserRepository;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.Reservation;
+import com.event.event_reservation_system.modele.StatutReservation;
+import com.event.event_reservation_system.modele.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insertion de 100 000 réservations par {@code reservationRepository.saveAll} dans le contexte Spring :
+ * configuration de l'application (séquence pooled-lo, lots JDBC de 50, insertions ordonnées)
+ * contre un identifiant IDENTITY, avec lequel Hibernate exécute un INSERT par ligne pour relire la clé
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 3, jvmArgsAppend = "-Xmx2g")
+public class ReservationInsertBenchmark {
+
+    private static final int RESERVATIONS = 100_000;
+
+    @Param({"LOTS_POOLED_LO", "IDENTITY"})
+    public String configuration;
+
+    private ConfigurableApplicationContext context;
+    private ReservationRepository reservationRepository;
+    private UserRepository userRepository;
+    private EventRepository eventRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> evenements;
+    private int sequence;
+
+    @Setup
+    public void setup() {
+        context = "IDENTITY".equals(configuration)
+                // La validation attendrait une colonne IDENTITY : elle est convertie après le démarrage
+                ? BenchmarkContext.demarrer("insertion-identity",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.jpa.mapping-resources=META-INF/benchmark/reservation-identity.xml")
+                : BenchmarkContext.demarrer("insertion-lots");
+        reservationRepository = context.getBean(ReservationRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        eventRepository = context.getBean(EventRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+        evenements = jdbcTemplate.queryForList("SELECT id FROM events ORDER BY id", Long.class);
+        if ("IDENTITY".equals(configuration)) {
+            long suivant = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM reservations", Long.class);
+            jdbcTemplate.execute("ALTER TABLE reservations ALTER COLUMN id SET GENERATED BY DEFAULT");
+            jdbcTemplate.execute("ALTER TABLE reservations ALTER COLUMN id RESTART WITH " + suivant);
+        }
+    }
+
+    /**
+     * Chaque mesure part de la même table
+     */
+    @TearDown(Level.Iteration)
+    public void viderLesReservationsInserees() {
+        jdbcTemplate.update("DELETE FROM reservations WHERE code_reservation LIKE 'BENCH-%'");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int inserer100kReservations() {
+        List<Reservation> enregistrees = transactionTemplate.execute(status -> {
+            User client = userRepository.getReferenceById(4L);
+            List<Event> cibles = evenements.stream().map(eventRepository::getReferenceById).toList();
+            List<Reservation> reservations = new ArrayList<>(RESERVATIONS);
+            for (int i = 0; i < RESERVATIONS; i++) {
+                reservations.add(Reservation.builder()
+                        .utilisateur(client)
+                        .evenement(cibles.get(i % cibles.size()))
+                        .nombrePlaces(1 + (i % 4))
+                        .statut(StatutReservation.CONFIRMEE)
+                        .codeReservation("BENCH-" + configuration + "-" + sequence++)
+                        .build());
+            }
+            return reservationRepository.saveAll(reservations);
+        });
+        return enregistrees.size();
+    }
+}
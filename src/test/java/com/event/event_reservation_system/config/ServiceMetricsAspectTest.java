@@ -0,0 +1,90 @@
+package com.event.event_reservation_system.config;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import com.event.event_reservation_system.Repositories.UserRepository;
+import com.event.event_reservation_system.exception.BusinessException;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.Statut;
+import com.event.event_reservation_system.modele.User;
+import com.event.event_reservation_system.service.EventService;
+import com.event.event_reservation_system.service.ReservationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metriques",
+        "spring.cache.type=none"
+})
+class ServiceMetricsAspectTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private PlacesRestantesMetrics placesRestantesMetrics;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void lesResultatsDeReservationEtLesPlacesRestantesSontMesures() {
+        User organisateur = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        Event event = eventRepository.save(Event.builder()
+                .titre("Concert presque complet")
+                .categorie(Categorie.CONCERT)
+                .dateDebut(LocalDateTime.now().plusDays(10))
+                .dateFin(LocalDateTime.now().plusDays(10).plusHours(3))
+                .lieu("Théâtre Mohammed V")
+                .ville("Rabat")
+                .capaciteMax(3)
+                .prixUnitaire(200.0)
+                .organisateur(organisateur)
+                .statut(Statut.PUBLIE)
+                .scorePopularite(1.0e9)
+                .build());
+
+        reservationService.creerReservation(client.getId(), event.getId(), 2, null);
+        assertThatThrownBy(() -> reservationService.creerReservation(client.getId(), event.getId(), 2, null))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> reservationService.creerReservation(client.getId(), event.getId(), 0, null))
+                .isInstanceOf(BusinessException.class);
+
+        assertThat(nombreReservations("succes")).isEqualTo(1);
+        assertThat(nombreReservations("complet")).isEqualTo(1);
+        assertThat(nombreReservations("validation")).isEqualTo(1);
+
+        eventService.getPlacesDisponibles(event.getId());
+        assertThat(meterRegistry.get(ServiceMetricsAspect.DUREE_SERVICE)
+                .tags("classe", "EventService", "methode", "getPlacesDisponibles", "exception", "none")
+                .timer().count()).isPositive();
+
+        placesRestantesMetrics.rafraichir();
+        assertThat(meterRegistry.get("evenement.places.restantes")
+                .tag("evenement", String.valueOf(event.getId()))
+                .gauge().value()).isEqualTo(1.0);
+    }
+
+    private long nombreReservations(String resultat) {
+        return meterRegistry.get(ServiceMetricsAspect.CREATION_RESERVATION)
+                .tag("resultat", resultat)
+                .timer().count();
+    }
+}
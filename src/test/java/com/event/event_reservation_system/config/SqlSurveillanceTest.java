@@ -0,0 +1,83 @@
+package com.event.event_reservation_system.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlSurveillanceTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void lesRequetesSontCompteesParAppelEtLesAppelsExcessifsSignales() throws Exception {
+        DataSource dataSource = ProxyDataSourceBuilder
+                .create(new DriverManagerDataSource("jdbc:h2:mem:surveillance;DB_CLOSE_DELAY=-1", "sa", ""))
+                .listener(new SqlSurveillanceListener(meterRegistry, Duration.ZERO))
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE places (evenement_id BIGINT, restantes INT)");
+
+        SqlParRequeteFilter filter = new SqlParRequeteFilter(meterRegistry, 3);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/");
+        request.setParameter("v-r", "uidl");
+        request.addHeader("Referer", "http://localhost:8080/events");
+
+        // Une requête par carte d'événement : motif N+1
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                for (long id = 1; id <= 5; id++) {
+                    jdbc.queryForList("SELECT restantes FROM places WHERE evenement_id = ?", Integer.class, id);
+                }
+            }
+        }));
+
+        assertThat(meterRegistry.get("http.requetes.sql").summary().max()).isEqualTo(5.0);
+        assertThat(meterRegistry.get("http.requetes.sql.excessives").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("sql.requetes").tag("type", "select").timer().count()).isEqualTo(5);
+        // Seuil de durée nul : toutes les exécutions, DDL comprise, sont signalées lentes
+        assertThat(meterRegistry.get("sql.requetes.lentes").counter().count()).isEqualTo(6.0);
+        assertThat(SqlParRequeteFilter.decrire(request)).isEqualTo("POST / [vaadin uidl, page /events]");
+    }
+
+    @Test
+    void leTypeEtLOrigineSontDeduitsDeLaRequeteEtDeLaPile() {
+        assertThat(SqlSurveillanceListener.type("  with t as (select 1) select * from t")).isEqualTo("select");
+        assertThat(SqlSurveillanceListener.type("update events set places_reservees = 1")).isEqualTo("update");
+        assertThat(SqlSurveillanceListener.type("")).isEqualTo("autre");
+        assertThat(SqlSurveillanceListener.origine())
+                .isEqualTo("SqlSurveillanceTest.leTypeEtLOrigineSontDeduitsDeLaRequeteEtDeLaPile");
+    }
+
+    @Test
+    void laRequeteLaPlusRepeteeEstAttribueeALaMethodeQuiLaRepete() {
+        StatistiquesSql statistiques = StatistiquesSql.demarrer();
+        try {
+            StatistiquesSql.enregistrer("SELECT 1", 0);
+            for (int i = 0; i < 3; i++) {
+                StatistiquesSql.enregistrer("SELECT restantes FROM places WHERE evenement_id = ?", 0);
+            }
+        } finally {
+            StatistiquesSql.terminer();
+        }
+
+        assertThat(statistiques.plusRepetee().getValue()).isEqualTo(3);
+        assertThat(statistiques.origine(statistiques.plusRepetee().getKey()))
+                .isEqualTo("SqlSurveillanceTest.laRequeteLaPlusRepeteeEstAttribueeALaMethodeQuiLaRepete");
+        assertThat(statistiques.origine("SELECT 1")).isEqualTo("inconnue");
+    }
+}
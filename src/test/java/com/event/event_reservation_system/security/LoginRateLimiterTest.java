@@ -0,0 +1,47 @@
+package com.event.event_reservation_system.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginRateLimiterTest {
+
+    private final AtomicLong horloge = new AtomicLong(1_000_000_000L);
+
+    private final LoginRateLimiter limiter = new LoginRateLimiter(
+            3, Duration.ofMinutes(1), 10, Duration.ofSeconds(1), 1_000, horloge::get);
+
+    @Test
+    void lesTentativesParEmailSontLimiteesPuisRechargees() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.autoriser("client1@event.ma", "10.0.0." + i)).isTrue();
+        }
+        assertThat(limiter.autoriser("Client1@Event.ma ", "10.0.0.9")).isFalse();
+        assertThat(limiter.autoriser("client2@event.ma", "10.0.0.9")).isTrue();
+
+        horloge.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertThat(limiter.autoriser("client1@event.ma", "10.0.0.9")).isTrue();
+        assertThat(limiter.getRejetsEmail()).isEqualTo(1);
+    }
+
+    @Test
+    void uneAdresseIpNePeutPasEssayerDesComptesEnRafale() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.autoriser("compte" + i + "@event.ma", "192.168.1.1")).isTrue();
+        }
+        assertThat(limiter.autoriser("autre@event.ma", "192.168.1.1")).isFalse();
+        assertThat(limiter.getRejetsIp()).isEqualTo(1);
+    }
+
+    @Test
+    void lesClesAleatoiresNeFontPasCroitreLaMemoire() {
+        for (int i = 0; i < 100_000; i++) {
+            limiter.autoriser("bot" + i + "@spam.test", "10." + (i >> 16) + "." + ((i >> 8) & 255) + "." + (i & 255));
+        }
+        limiter.nettoyer();
+        assertThat(limiter.getNombreCles()).isLessThanOrEqualTo(2_000);
+    }
+}
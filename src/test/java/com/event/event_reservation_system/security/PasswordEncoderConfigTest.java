@@ -0,0 +1,74 @@
+package com.event.event_reservation_system.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordEncoderConfigTest {
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void unHachageBCryptSansPrefixeEstAccepteEtMarqueAMettreANiveau() {
+        PasswordEncoder encodeur = PasswordEncoderConfig.delegatingPasswordEncoder("bcrypt", 12, 19456, 2);
+        String ancien = new BCryptPasswordEncoder(10).encode("Password123");
+
+        assertThat(encodeur.matches("Password123", ancien)).isTrue();
+        assertThat(encodeur.upgradeEncoding(ancien)).isTrue();
+
+        String nouveau = encodeur.encode("Password123");
+        assertThat(nouveau).startsWith("{bcrypt}$2a$12$");
+        assertThat(encodeur.upgradeEncoding(nouveau)).isFalse();
+    }
+
+    @Test
+    void unChangementDAlgorithmeRendLesAnciensHachagesObsoletes() {
+        String bcrypt = PasswordEncoderConfig.delegatingPasswordEncoder("bcrypt", 10, 19456, 2)
+                .encode("Password123");
+        PasswordEncoder pbkdf2 = PasswordEncoderConfig.delegatingPasswordEncoder("pbkdf2", 10, 19456, 2);
+
+        assertThat(pbkdf2.matches("Password123", bcrypt)).isTrue();
+        assertThat(pbkdf2.upgradeEncoding(bcrypt)).isTrue();
+    }
+
+    @Test
+    void lesHachagesAuDelaDeLaFileDAttenteSontRefuses() throws Exception {
+        CountDownLatch bloque = new CountDownLatch(1);
+        executor.execute(() -> attendre(bloque));
+        executor.execute(() -> attendre(bloque));
+
+        BoundedPasswordEncoder encodeur = new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(4), executor, Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> encodeur.encode("Password123"))
+                .isInstanceOf(AuthenticationServiceException.class);
+
+        bloque.countDown();
+        executor.getQueue().clear();
+    }
+
+    private static void attendre(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
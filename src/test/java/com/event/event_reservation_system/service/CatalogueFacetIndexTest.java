@@ -0,0 +1,94 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.dto.CatalogueEntry;
+import com.event.event_reservation_system.dto.CatalogueFacettes;
+import com.event.event_reservation_system.dto.CatalogueFiltre;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Statut;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogueFacetIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private CatalogueFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatalogueFacetIndex(1_000_000);
+        index.reconstruire(List.of(
+                entree(1L, Categorie.CONCERT, "Casablanca", 200.0, 10),
+                entree(2L, Categorie.CONCERT, "Rabat", 0.0, 20),
+                entree(3L, Categorie.THEATRE, "casablanca", 80.0, 30),
+                entree(4L, Categorie.SPORT, "Marrakech", 600.0, 40),
+                new CatalogueEntry(5L, Categorie.SPORT, "Rabat", 50.0, NOW.plusDays(1), NOW.plusDays(2), Statut.BROUILLON)
+        ));
+    }
+
+    @Test
+    void compteChaqueFacetteAvecLesAutresFiltres() {
+        CatalogueFacettes facettes = index.facettes(
+                new CatalogueFiltre(Categorie.CONCERT, null, null, null, null, null), NOW);
+
+        assertThat(facettes.total()).isEqualTo(2);
+        // Les catégories ignorent le filtre de catégorie, les villes l'appliquent
+        assertThat(facettes.categories()).containsEntry(Categorie.CONCERT, 2)
+                .containsEntry(Categorie.THEATRE, 1)
+                .containsEntry(Categorie.SPORT, 1);
+        assertThat(facettes.villes()).containsOnlyKeys("Casablanca", "Rabat");
+        assertThat(facettes.tranchesPrix()).containsEntry("Gratuit", 1).containsEntry("200 à 500", 1);
+    }
+
+    @Test
+    void regroupeLesVillesSansTenirCompteDeLaCasse() {
+        CatalogueFacettes facettes = index.facettes(
+                new CatalogueFiltre(null, "CASABLANCA", null, 150.0, null, null), NOW);
+
+        assertThat(facettes.villes()).containsEntry("Casablanca", 1).containsEntry("Rabat", 1);
+        assertThat(facettes.total()).isEqualTo(1);
+    }
+
+    @Test
+    void suitLesMisesAJourEtLesFinsDEvenement() {
+        index.mettreAJour(entree(6L, Categorie.THEATRE, "Tanger", 120.0, 5));
+        index.mettreAJour(new CatalogueEntry(1L, Categorie.CONCERT, "Casablanca", 200.0,
+                NOW.plusDays(10), NOW.plusDays(11), Statut.ANNULE));
+        index.retirer(4L);
+
+        assertThat(index.facettes(CatalogueFiltre.vide(), NOW).total()).isEqualTo(3);
+        assertThat(index.facettes(CatalogueFiltre.vide(), NOW.plusDays(25)).total()).isEqualTo(1);
+    }
+
+    @Test
+    void tientUnMillionDEvenements() {
+        Random random = new Random(7);
+        String[] villes = {"Casablanca", "Rabat", "Marrakech", "Tanger", "Fès", "Agadir"};
+        List<CatalogueEntry> entrees = new ArrayList<>(1_000_000);
+        for (long id = 1; id <= 1_000_000; id++) {
+            entrees.add(entree(id, Categorie.values()[random.nextInt(Categorie.values().length)],
+                    villes[random.nextInt(villes.length)], random.nextInt(800) * 1.0, 1 + random.nextInt(365)));
+        }
+        index.reconstruire(entrees);
+
+        CatalogueFacettes facettes = index.facettes(
+                new CatalogueFiltre(Categorie.CONCERT, "Rabat", 100.0, 300.0, null, null), NOW);
+
+        assertThat(index.taille()).isEqualTo(1_000_000);
+        assertThat(facettes.categories().values().stream().mapToInt(Integer::intValue).sum())
+                .isLessThanOrEqualTo(1_000_000);
+        assertThat(facettes.total()).isEqualTo(facettes.categories().get(Categorie.CONCERT));
+    }
+
+    private static CatalogueEntry entree(Long id, Categorie categorie, String ville, Double prix, int jours) {
+        return new CatalogueEntry(id, categorie, ville, prix,
+                NOW.plusDays(jours), NOW.plusDays(jours).plusHours(3), Statut.PUBLIE);
+    }
+}
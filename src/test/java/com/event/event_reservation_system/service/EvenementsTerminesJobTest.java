@@ -0,0 +1,206 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import com.event.event_reservation_system.Repositories.JobLockRepository;
+import com.event.event_reservation_system.Repositories.UserRepository;
+import com.event.event_reservation_system.exception.BusinessException;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.JobLock;
+import com.event.event_reservation_system.modele.Statut;
+import com.event.event_reservation_system.modele.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:evenementstermines",
+        "evenement.expiration.cron=-",
+        "evenement.expiration.taille-lot=3"
+})
+class EvenementsTerminesJobTest {
+
+    private static final String AUTRE_NOEUD = "4242@autre-instance";
+
+    @Autowired
+    private EvenementsTerminesJob job;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void viderLesEvenementsExpiresEtLesVerrous() {
+        jobLockRepository.deleteAll();
+        job.executer();
+    }
+
+    @Test
+    void lesLotsSontEnchainesAuDelaDeLaTailleDeLot() {
+        List<Long> ids = creerEvenementsExpires(7);
+
+        // 7 événements, lots de 3 : 3 + 3 + 1
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(eventService.verifierEvenementsTermines(now, 3)).isEqualTo(3);
+        assertThat(eventService.verifierEvenementsTermines(now, 3)).isEqualTo(3);
+
+        List<Long> autres = creerEvenementsExpires(5);
+        assertThat(job.executer()).isEqualTo(1 + 5);
+
+        assertThat(eventRepository.findAllById(ids)).extracting(Event::getStatut).containsOnly(Statut.TERMINE);
+        assertThat(eventRepository.findAllById(autres)).extracting(Event::getStatut).containsOnly(Statut.TERMINE);
+        // Bail rendu en fin d'exécution
+        assertThat(jobLockRepository.findById(EvenementsTerminesJob.VERROU).orElseThrow().getVerrouilleJusqua())
+                .isBeforeOrEqualTo(LocalDateTime.now());
+    }
+
+    @Test
+    void uneSeuleInstanceDetientLeBailTantQuIlNAPasExpire() {
+        List<Long> ids = creerEvenementsExpires(2);
+        detenirParAutreNoeud(LocalDateTime.now().plusMinutes(10));
+
+        assertThat(jobLockService.acquerir(EvenementsTerminesJob.VERROU, Duration.ofMinutes(10))).isFalse();
+        assertThat(job.executer()).isZero();
+        assertThat(eventRepository.findAllById(ids)).extracting(Event::getStatut).containsOnly(Statut.PUBLIE);
+        assertThat(jobLockRepository.findById(EvenementsTerminesJob.VERROU).orElseThrow().getVerrouillePar())
+                .isEqualTo(AUTRE_NOEUD);
+
+        // Libérer ne rend que son propre bail
+        jobLockService.liberer(EvenementsTerminesJob.VERROU);
+        assertThat(jobLockService.acquerir(EvenementsTerminesJob.VERROU, Duration.ofMinutes(10))).isFalse();
+    }
+
+    @Test
+    void unBailExpireEstReprisParUneAutreInstance() {
+        List<Long> ids = creerEvenementsExpires(2);
+        detenirParAutreNoeud(LocalDateTime.now().minusSeconds(1));
+
+        assertThat(job.executer()).isEqualTo(2);
+        assertThat(eventRepository.findAllById(ids)).extracting(Event::getStatut).containsOnly(Statut.TERMINE);
+        assertThat(jobLockRepository.findById(EvenementsTerminesJob.VERROU).orElseThrow().getVerrouillePar())
+                .isNotEqualTo(AUTRE_NOEUD);
+
+        // L'ancien détenteur ne peut plus le reprendre tant que le nouveau bail court
+        assertThat(jobLockService.acquerir(EvenementsTerminesJob.VERROU, Duration.ofMinutes(10))).isTrue();
+        Integer repris = transactionTemplate.execute(status -> jobLockRepository.acquerir(EvenementsTerminesJob.VERROU,
+                AUTRE_NOEUD, LocalDateTime.now(), LocalDateTime.now().plusMinutes(10)));
+        assertThat(repris).isZero();
+    }
+
+    @Test
+    void deuxInstancesQuiCreentLeVerrouEnMemeTempsNObtiennentQuUnSeulBail() throws Exception {
+        JobLockService autreInstance = new JobLockService(jobLockRepository);
+        ReflectionTestUtils.setField(autreInstance, "noeud", AUTRE_NOEUD);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int essai = 0; essai < 20; essai++) {
+                jobLockRepository.deleteAll();
+                CountDownLatch depart = new CountDownLatch(1);
+                Future<Boolean> ici = executor.submit(() -> {
+                    depart.await();
+                    return jobLockService.acquerir(EvenementsTerminesJob.VERROU, Duration.ofMinutes(10));
+                });
+                Future<Boolean> ailleurs = executor.submit(() -> {
+                    depart.await();
+                    return autreInstance.acquerir(EvenementsTerminesJob.VERROU, Duration.ofMinutes(10));
+                });
+                depart.countDown();
+
+                assertThat(ici.get(10, TimeUnit.SECONDS) ^ ailleurs.get(10, TimeUnit.SECONDS))
+                        .as("un seul bail à l'essai %d", essai)
+                        .isTrue();
+                assertThat(jobLockRepository.count()).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void uneReservationEstRefuseeDesQueLaDateDeFinEstPassee() {
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        Long id = creerEvenementsExpires(1).get(0);
+
+        // Encore PUBLIE : la tâche planifiée n'est pas passée
+        assertThat(eventRepository.findById(id).orElseThrow().getStatut()).isEqualTo(Statut.PUBLIE);
+        assertThatThrownBy(() -> reservationService.creerReservation(client.getId(), id, 1, null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("terminé");
+
+        job.executer();
+        assertThatThrownBy(() -> reservationService.creerReservation(client.getId(), id, 1, null))
+                .isInstanceOf(BusinessException.class);
+        assertThat(eventRepository.findById(id).orElseThrow().getPlacesReservees()).isZero();
+    }
+
+    private void detenirParAutreNoeud(LocalDateTime jusqua) {
+        jobLockRepository.save(JobLock.builder()
+                .nom(EvenementsTerminesJob.VERROU)
+                .verrouillePar(AUTRE_NOEUD)
+                .verrouilleJusqua(jusqua)
+                .build());
+    }
+
+    // Les dates passées sont écrites en SQL : @Future refuse de les enregistrer par JPA
+    private List<Long> creerEvenementsExpires(int nombre) {
+        User organisateur = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        LocalDateTime fin = LocalDateTime.now().minusMinutes(1);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < nombre; i++) {
+            Event event = eventRepository.save(Event.builder()
+                    .titre("Événement expiré " + i)
+                    .categorie(Categorie.CONFERENCE)
+                    .dateDebut(LocalDateTime.now().plusDays(1))
+                    .dateFin(LocalDateTime.now().plusDays(1).plusHours(2))
+                    .lieu("Palais des Congrès")
+                    .ville("Marrakech")
+                    .capaciteMax(50)
+                    .prixUnitaire(20.0)
+                    .organisateur(organisateur)
+                    .statut(Statut.PUBLIE)
+                    .build());
+            jdbcTemplate.update("UPDATE events SET date_debut = ?, date_fin = ? WHERE id = ?",
+                    Timestamp.valueOf(fin.minusHours(2)), Timestamp.valueOf(fin), event.getId());
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+}
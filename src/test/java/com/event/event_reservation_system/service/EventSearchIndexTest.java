@@ -0,0 +1,120 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.dto.CatalogueFiltre;
+import com.event.event_reservation_system.dto.EventSearchDocument;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Statut;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 12, 0);
+
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventSearchIndex();
+        index.reconstruire(List.of(
+                document(1L, "Le Roi Lear - Version Marocaine", "Théâtre classique", "Théâtre Mohammed V", "Rabat"),
+                document(2L, "Concert Saad Lamjarred", "Grande soirée", "Stade Mohammed V", "Casablanca"),
+                document(3L, "Festival de Théâtre", "Troupes d'Afrique", "Centre Ville", "Tanger"),
+                document(4L, "Salon du Livre", "Rencontres avec des auteurs de théâtre", "Foire Internationale", "Casablanca")
+        ));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.fermer();
+    }
+
+    @Test
+    void ignoreAccentsEtCasse() {
+        assertThat(rechercher("theatre")).containsExactlyInAnyOrder(1L, 3L, 4L);
+        assertThat(rechercher("THÉÂTRE")).containsExactlyInAnyOrder(1L, 3L, 4L);
+    }
+
+    @Test
+    void completeLeDernierMotParPrefixe() {
+        assertThat(rechercher("casa")).containsExactlyInAnyOrder(2L, 4L);
+        assertThat(rechercher("salon casa")).containsExactly(4L);
+    }
+
+    @Test
+    void classeLeTitreAvantLaDescription() {
+        assertThat(rechercher("theatre").get(0)).isEqualTo(3L);
+    }
+
+    @Test
+    void suitLesMisesAJourEtSuppressions() {
+        index.indexer(document(2L, "Concert annulé", null, "Stade", "Rabat"));
+        index.supprimer(4L);
+
+        assertThat(rechercher("casablanca")).isEmpty();
+        assertThat(rechercher("rabat")).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void leTotalEtLaPageTiennentCompteDesFiltresAuDelaDeMilleCorrespondances() {
+        List<EventSearchDocument> documents = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            // Un tiers terminé, un tiers annulé : seuls les 1 000 restants sont disponibles
+            LocalDateTime fin = id % 3 == 0 ? NOW.minusDays(1) : NOW.plusDays(id);
+            Statut statut = id % 3 == 1 ? Statut.ANNULE : Statut.PUBLIE;
+            Categorie categorie = id % 2 == 0 ? Categorie.CONCERT : Categorie.THEATRE;
+            documents.add(new EventSearchDocument(id, "Concert " + id, null, "Salle", id % 5 == 0 ? "Rabat" : "Fès",
+                    categorie, (double) id, fin.minusHours(2), fin, statut, 0));
+        }
+        index.reconstruire(documents);
+
+        EventSearchIndex.Resultats tous = index.rechercher("concert", CatalogueFiltre.vide(), NOW,
+                Sort.by("dateDebut"), 990, 20);
+        assertThat(tous.total()).isEqualTo(1000);
+        assertThat(tous.ids()).hasSize(10)
+                .containsExactlyElementsOf(LongStream.range(990, 1000).map(rang -> 3 * rang + 2).boxed().toList());
+
+        CatalogueFiltre filtre = new CatalogueFiltre(Categorie.CONCERT, "RABAT", 1000.0, null, null, null);
+        EventSearchIndex.Resultats filtres = index.rechercher("concert", filtre, NOW,
+                Sort.by(Sort.Order.desc("prixUnitaire")), 0, 3);
+        // Identifiants pairs, multiples de 5, ≡ 2 mod 3, ≥ 1000 : 1010, 1040, ..., 2990
+        assertThat(filtres.total()).isEqualTo(67);
+        assertThat(filtres.ids()).containsExactly(2990L, 2960L, 2930L);
+    }
+
+    @Test
+    void trieParPlacesReserveesEtConserveLeCompteurQuandLEvenementEstReindexe() {
+        Sort popularite = Sort.by(Sort.Order.desc("placesReservees"), Sort.Order.asc("id"));
+        index.mettreAJourPlaces(4L, 30);
+        index.mettreAJourPlaces(1L, 12);
+
+        assertThat(index.rechercher("theatre", CatalogueFiltre.vide(), NOW, popularite, 0, 10).ids())
+                .containsExactly(4L, 1L, 3L);
+
+        // Réindexation par @PostUpdate : le document JPA porte un compteur périmé
+        index.indexer(document(4L, "Salon du Livre", "Auteurs de théâtre", "Foire", "Casablanca"));
+        index.mettreAJourPlaces(3L, 20);
+        EventSearchIndex.Resultats page = index.rechercher("theatre", CatalogueFiltre.vide(), NOW, popularite, 1, 1);
+        assertThat(page.ids()).containsExactly(3L);
+        assertThat(page.total()).isEqualTo(3);
+    }
+
+    private List<Long> rechercher(String texte) {
+        return index.rechercher(texte, CatalogueFiltre.vide(), NOW, Sort.unsorted(), 0, 10).ids();
+    }
+
+    private static EventSearchDocument document(Long id, String titre, String description, String lieu, String ville) {
+        return new EventSearchDocument(id, titre, description, lieu, ville,
+                Categorie.CONCERT, 100.0, NOW.plusDays(10), NOW.plusDays(10).plusHours(3), Statut.PUBLIE, 0);
+    }
+}
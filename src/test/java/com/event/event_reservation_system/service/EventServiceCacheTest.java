@@ -0,0 +1,113 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import com.event.event_reservation_system.Repositories.UserRepository;
+import com.event.event_reservation_system.dto.EventDTO;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.Reservation;
+import com.event.event_reservation_system.modele.Statut;
+import com.event.event_reservation_system.modele.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:eventcache",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class EventServiceCacheTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void lesLecturesDuCatalogueSontServiesParLeCacheJusquAUneReservation() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User organisateur = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        Event event = eventRepository.save(Event.builder()
+                .titre("Concert en cache")
+                .categorie(Categorie.CONCERT)
+                .dateDebut(LocalDateTime.now().plusDays(10))
+                .dateFin(LocalDateTime.now().plusDays(10).plusHours(2))
+                .lieu("Théâtre Mohammed V")
+                .ville("Rabat")
+                .capaciteMax(100)
+                .prixUnitaire(50.0)
+                .organisateur(organisateur)
+                .statut(Statut.PUBLIE)
+                .build());
+
+        eventService.getEvenementsPopulairesDTO(6);
+        eventService.consulter(event.getId());
+        eventService.getToutesLesVilles();
+
+        statistics.clear();
+        eventService.getEvenementsPopulairesDTO(6);
+        EventDTO enCache = eventService.consulter(event.getId());
+        eventService.getToutesLesVilles();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(enCache.getPlacesReservees()).isZero();
+
+        Reservation reservation = reservationService.creerReservation(client.getId(), event.getId(), 2, null);
+
+        // Une réservation en attente ne change pas le classement : l'accueil reste en cache
+        statistics.clear();
+        eventService.getEvenementsPopulairesDTO(6);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        EventDTO rafraichi = eventService.consulter(event.getId());
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+        assertThat(rafraichi.getPlacesReservees()).isEqualTo(2);
+
+        reservationService.confirmerReservation(reservation.getId());
+
+        statistics.clear();
+        eventService.getEvenementsPopulairesDTO(6);
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+    }
+
+    @Test
+    void laModificationChargeUneEntiteHorsCache() {
+        User organisateur = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        Event event = eventRepository.save(Event.builder()
+                .titre("Titre d'origine")
+                .categorie(Categorie.CONCERT)
+                .dateDebut(LocalDateTime.now().plusDays(10))
+                .dateFin(LocalDateTime.now().plusDays(10).plusHours(2))
+                .lieu("Théâtre Mohammed V")
+                .ville("Rabat")
+                .capaciteMax(100)
+                .prixUnitaire(50.0)
+                .organisateur(organisateur)
+                .statut(Statut.PUBLIE)
+                .build());
+        eventService.consulter(event.getId());
+
+        // Édition abandonnée (validation ou droits refusés) : la fiche en cache n'en voit rien
+        Event enEdition = eventService.trouverParId(event.getId());
+        enEdition.setTitre("Titre non enregistré");
+
+        assertThat(eventService.consulter(event.getId()).getTitre()).isEqualTo("Titre d'origine");
+        assertThat(eventService.trouverParId(event.getId())).isNotSameAs(enEdition);
+    }
+}
@@ -0,0 +1,97 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import com.event.event_reservation_system.Repositories.UserRepository;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.Statut;
+import com.event.event_reservation_system.modele.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statementcount",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.cache.type=none"
+})
+class EventServiceStatementCountTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void lesListesDTONeDependentPasDuNombreDEvenements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User organisateur = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+
+        creerEvenements(organisateur, 5);
+        List<Long> avant = compterRequetesParListe(statistics);
+
+        creerEvenements(organisateur, 100);
+        List<Long> apres = compterRequetesParListe(statistics);
+
+        assertThat(apres).isEqualTo(avant);
+        assertThat(apres).allMatch(count -> count == 1L);
+    }
+
+    private List<Long> compterRequetesParListe(Statistics statistics) {
+        List<Runnable> listes = List.of(
+                () -> eventService.getEvenementsDisponiblesDTO(),
+                () -> eventService.rechercherEvenementsDTO(null, Statut.PUBLIE, null, null, null, null, null, null),
+                () -> eventService.getEvenementsPopulairesDTO(50),
+                () -> eventService.getEvenementsByCategorie(Categorie.CONCERT.name(), 50),
+                () -> eventService.rechercherEvenementsTexteDTO("concert", Categorie.CONCERT, null, null, null, null, null,
+                        PageRequest.of(0, 12)),
+                () -> eventService.rechercherEvenementsTexteDTO("concert", null, null, null, null, null, null,
+                        PageRequest.of(0, 12, Sort.by(Sort.Order.desc("placesReservees"), Sort.Order.asc("id"))))
+        );
+
+        List<Long> counts = new ArrayList<>();
+        for (Runnable liste : listes) {
+            statistics.clear();
+            liste.run();
+            counts.add(statistics.getPrepareStatementCount());
+        }
+        return counts;
+    }
+
+    private void creerEvenements(User organisateur, int nombre) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < nombre; i++) {
+            events.add(Event.builder()
+                    .titre("Concert numéro " + i)
+                    .categorie(Categorie.CONCERT)
+                    .dateDebut(LocalDateTime.now().plusDays(10 + i))
+                    .dateFin(LocalDateTime.now().plusDays(10 + i).plusHours(2))
+                    .lieu("Salle " + i)
+                    .ville("Rabat")
+                    .capaciteMax(100)
+                    .prixUnitaire(50.0)
+                    .organisateur(organisateur)
+                    .statut(Statut.PUBLIE)
+                    .build());
+        }
+        eventRepository.saveAll(events);
+    }
+}
@@ -0,0 +1,149 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import com.event.event_reservation_system.Repositories.OriginePopulariteRepository;
+import com.event.event_reservation_system.Repositories.UserRepository;
+import com.event.event_reservation_system.dto.EventDTO;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.Reservation;
+import com.event.event_reservation_system.modele.Statut;
+import com.event.event_reservation_system.modele.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:popularite",
+        "spring.cache.type=none"
+})
+class PopulariteServiceTest {
+
+    @Autowired
+    private PopulariteService populariteService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OriginePopulariteRepository originePopulariteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void uneReservationRecenteCompteDoubleApresUneDemiVie() {
+        LocalDateTime maintenant = LocalDateTime.of(2026, 3, 1, 12, 0);
+        LocalDateTime origine = maintenant.minusDays(30);
+
+        double ancien = populariteService.poids(1, maintenant.minusDays(7), origine);
+        double recent = populariteService.poids(1, maintenant, origine);
+
+        assertThat(recent / ancien).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    void lesPoidsRestentFinisDansUnSiecleCarLOrigineSuitLaFenetre() {
+        LocalDateTime dansUnSiecle = LocalDateTime.now().plusYears(100);
+
+        // Après réancrage, l'exposant ne dépasse pas fenêtre / demi-vie (30 j / 7 j)
+        double poids = populariteService.poids(10, dansUnSiecle, dansUnSiecle.minusDays(30));
+
+        assertThat(poids).isFinite().isCloseTo(10 * Math.pow(2.0, 30 / 7.0), within(1e-9));
+        assertThatThrownBy(() -> new PopulariteService(eventRepository, null, null, null,
+                Duration.ZERO, Duration.ofDays(30)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void leRecalculReancreLOrigineAuDebutDeLaFenetre() {
+        LocalDateTime avant = LocalDateTime.now().minusDays(30);
+
+        populariteService.recalculer();
+
+        assertThat(originePopulariteRepository.origine())
+                .isAfterOrEqualTo(avant)
+                .isBeforeOrEqualTo(LocalDateTime.now().minusDays(30));
+    }
+
+    @Test
+    void lAnnulationDUneConfirmationSortieDeLaFenetreNeRetireRien() {
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        Event event = creerEvenement("Salon d'hiver");
+        Reservation ancienne = reservationService.creerReservation(client.getId(), event.getId(), 4, null);
+        reservationService.confirmerReservation(ancienne.getId());
+        jdbcTemplate.update("UPDATE reservations SET date_reservation = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(40)), ancienne.getId());
+        reservationService.confirmerReservation(
+                reservationService.creerReservation(client.getId(), event.getId(), 2, null).getId());
+        populariteService.recalculer();
+        double score = eventRepository.findById(event.getId()).orElseThrow().getScorePopularite();
+        assertThat(score).isPositive();
+
+        reservationService.annulerReservation(ancienne.getId(), client.getId());
+
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getScorePopularite())
+                .isCloseTo(score, within(1e-9));
+    }
+
+    @Test
+    void lesConfirmationsEtAnnulationsMettentAJourLeClassement() {
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        Event event = creerEvenement("Festival très demandé");
+
+        Reservation reservation = reservationService.creerReservation(client.getId(), event.getId(), 10, null);
+        // En attente : pas encore comptée dans le score
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getScorePopularite()).isZero();
+
+        reservationService.confirmerReservation(reservation.getId());
+        assertThat(idsPopulaires()).startsWith(event.getId());
+
+        reservationService.annulerReservation(reservation.getId(), client.getId());
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getScorePopularite())
+                .isCloseTo(0.0, within(1e-6));
+
+        reservationService.confirmerReservation(
+                reservationService.creerReservation(client.getId(), event.getId(), 10, null).getId());
+        populariteService.recalculer();
+        assertThat(idsPopulaires()).startsWith(event.getId());
+    }
+
+    private Event creerEvenement(String titre) {
+        User organisateur = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        return eventRepository.save(Event.builder()
+                .titre(titre)
+                .categorie(Categorie.CONCERT)
+                .dateDebut(LocalDateTime.now().plusDays(20))
+                .dateFin(LocalDateTime.now().plusDays(21))
+                .lieu("Plage")
+                .ville("Essaouira")
+                .capaciteMax(1000)
+                .prixUnitaire(80.0)
+                .organisateur(organisateur)
+                .statut(Statut.PUBLIE)
+                .build());
+    }
+
+    private List<Long> idsPopulaires() {
+        return eventService.getEvenementsPopulairesDTO(3).stream().map(EventDTO::getId).toList();
+    }
+}
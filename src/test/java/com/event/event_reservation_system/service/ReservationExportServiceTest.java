@@ -0,0 +1,99 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import com.event.event_reservation_system.Repositories.ReservationRepository;
+import com.event.event_reservation_system.Repositories.UserRepository;
+import com.event.event_reservation_system.dto.ReservationFilter;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.StatutReservation;
+import com.event.event_reservation_system.modele.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:reservationexport")
+class ReservationExportServiceTest {
+
+    private static final int RESERVATIONS_GENEREES = 50_000;
+
+    @Autowired
+    private ReservationExportService reservationExportService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exporteToutesLesReservationsSansLesGarderEnMemoire() throws Exception {
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        Event evenement = eventRepository.findAll().get(0);
+        genererReservations(client, evenement);
+
+        LineCountingOutputStream out = new LineCountingOutputStream();
+        long exportees = reservationExportService.exporterCsv(ReservationFilter.vide(), out);
+
+        assertThat(exportees).isEqualTo(reservationRepository.count());
+        assertThat(out.lignes).isEqualTo(exportees + 1);
+
+        LineCountingOutputStream annulees = new LineCountingOutputStream();
+        long exporteesAnnulees = reservationExportService.exporterCsv(
+                new ReservationFilter(StatutReservation.ANNULEE, null, null, null, null, null), annulees);
+
+        assertThat(exporteesAnnulees).isEqualTo(reservationRepository.countByStatut(StatutReservation.ANNULEE));
+        assertThat(annulees.lignes).isEqualTo(exporteesAnnulees + 1);
+    }
+
+    private void genererReservations(User client, Event evenement) {
+        StatutReservation[] statuts = StatutReservation.values();
+        LocalDateTime base = LocalDateTime.now().minusDays(30);
+        List<Object[]> lignes = new ArrayList<>(RESERVATIONS_GENEREES);
+        for (int i = 0; i < RESERVATIONS_GENEREES; i++) {
+            lignes.add(new Object[]{
+                    client.getId(),
+                    evenement.getId(),
+                    1,
+                    evenement.getPrixUnitaire(),
+                    Timestamp.valueOf(base.plusSeconds(i)),
+                    statuts[i % statuts.length].name(),
+                    "EXP-" + i,
+                    i % 100 == 0 ? "Commentaire; avec \"guillemets\"" : null
+            });
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO reservations (id, utilisateur_id, evenement_id, nombre_places, montant_total,
+                                          date_reservation, statut, code_reservation, commentaire)
+                VALUES (NEXT VALUE FOR reservations_seq, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, lignes);
+    }
+
+    /**
+     * Compte les lignes écrites sans conserver le contenu
+     */
+    private static final class LineCountingOutputStream extends OutputStream {
+        private long lignes;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lignes++;
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import com.event.event_reservation_system.Repositories.ReservationRepository;
+import com.event.event_reservation_system.Repositories.UserRepository;
+import com.event.event_reservation_system.dto.EventDTO;
+import com.event.event_reservation_system.dto.ReservationCursor;
+import com.event.event_reservation_system.dto.ReservationFilter;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.Reservation;
+import com.event.event_reservation_system.modele.Statut;
+import com.event.event_reservation_system.modele.StatutReservation;
+import com.event.event_reservation_system.modele.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reservationslice",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReservationServiceTest {
+
+    private static final Sort TRI = Sort.by(Sort.Direction.DESC, "dateReservation", "id");
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void uneTrancheDeLaGrilleNeCoutePasDeRequeteCount() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        int total = (int) reservationRepository.count();
+        int taille = 5;
+
+        statistics.clear();
+        Slice<Reservation> premiere = reservationService.rechercherReservations(
+                ReservationFilter.vide(), PageRequest.of(0, taille, TRI));
+        premiere.forEach(reservation -> {
+            reservation.getUtilisateur().getEmail();
+            reservation.getEvenement().getTitre();
+        });
+
+        // Une seule requête : ni COUNT ni chargement séparé des associations
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(premiere.getContent()).hasSize(taille);
+        assertThat(premiere.hasNext()).isTrue();
+
+        Slice<Reservation> derniere = reservationService.rechercherReservations(
+                ReservationFilter.vide(), PageRequest.of((total - 1) / taille, taille, TRI));
+        assertThat(derniere.getContent()).hasSize(total - (total - 1) / taille * taille);
+        assertThat(derniere.hasNext()).isFalse();
+    }
+
+    @Test
+    void lesSautsLointainsEtLaPaginationParCleDonnentLeMemeOrdre() {
+        User organisateur = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        Event event = eventRepository.save(Event.builder()
+                .titre("Salon très fréquenté")
+                .categorie(Categorie.CONFERENCE)
+                .dateDebut(LocalDateTime.now().plusDays(20))
+                .dateFin(LocalDateTime.now().plusDays(20).plusHours(8))
+                .lieu("Parc des Expositions")
+                .ville("Casablanca")
+                .capaciteMax(500)
+                .prixUnitaire(10.0)
+                .organisateur(organisateur)
+                .statut(Statut.PUBLIE)
+                .build());
+        // Dates identiques deux à deux : l'identifiant départage
+        LocalDateTime base = LocalDateTime.now().minusDays(1).withNano(0);
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            reservations.add(Reservation.builder()
+                    .utilisateur(client)
+                    .evenement(event)
+                    .nombrePlaces(1)
+                    .codeReservation("EVT-SAUT-" + i)
+                    .statut(StatutReservation.EN_ATTENTE)
+                    .dateReservation(base.plusMinutes(i / 2))
+                    .build());
+        }
+        reservationRepository.saveAll(reservations);
+
+        List<Long> parCle = new ArrayList<>();
+        ReservationCursor curseur = null;
+        List<Reservation> page;
+        do {
+            page = reservationService.getReservationsEvenementApres(event.getId(), null, null, curseur, 7);
+            page.forEach(reservation -> parCle.add(reservation.getId()));
+            curseur = page.isEmpty() ? null : ReservationCursor.of(page.get(page.size() - 1));
+        } while (page.size() == 7);
+
+        assertThat(parCle).hasSize(25).doesNotHaveDuplicates();
+        for (int decalage = 0; decalage < 25; decalage += 6) {
+            assertThat(reservationService.getReservationsEvenementADecalage(event.getId(), null, null, decalage, 6))
+                    .extracting(Reservation::getId)
+                    .containsExactlyElementsOf(parCle.subList(decalage, Math.min(decalage + 6, 25)));
+        }
+        assertThat(reservationService.compterReservationsEvenement(event.getId(), null, null)).isEqualTo(25);
+    }
+
+    @Test
+    void laRechercheParPopulariteSuitLesReservationsEtLesAnnulations() {
+        User organisateur = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            ids.add(eventRepository.save(Event.builder()
+                    .titre("Kermesse de quartier " + i)
+                    .categorie(Categorie.CONCERT)
+                    .dateDebut(LocalDateTime.now().plusDays(30))
+                    .dateFin(LocalDateTime.now().plusDays(30).plusHours(6))
+                    .lieu("Place centrale")
+                    .ville("Meknès")
+                    .capaciteMax(100)
+                    .prixUnitaire(5.0)
+                    .organisateur(organisateur)
+                    .statut(Statut.PUBLIE)
+                    .build()).getId());
+        }
+        PageRequest parPopularite = PageRequest.of(0, 10,
+                Sort.by(Sort.Order.desc("placesReservees"), Sort.Order.asc("id")));
+
+        Reservation reservation = reservationService.creerReservation(client.getId(), ids.get(1), 6, null);
+        assertThat(eventService.rechercherEvenementsTexteDTO("kermesse", null, null, null, null, null, null,
+                parPopularite)).extracting(EventDTO::getId).containsExactly(ids.get(1), ids.get(0));
+
+        reservationService.annulerReservation(reservation.getId(), client.getId());
+        assertThat(eventService.rechercherEvenementsTexteDTO("kermesse", null, null, null, null, null, null,
+                parPopularite)).extracting(EventDTO::getId).containsExactly(ids.get(0), ids.get(1));
+    }
+
+    @Test
+    void lesFiltresTextePrennentLesJokersLikeAuPiedDeLaLettre() {
+        PageRequest page = PageRequest.of(0, 5, TRI);
+
+        Slice<Reservation> duClient = reservationService.rechercherReservations(
+                new ReservationFilter(null, null, "client1@event.ma", null, null, null), page);
+        assertThat(duClient.getContent()).isNotEmpty()
+                .allMatch(reservation -> reservation.getUtilisateur().getEmail().equals("client1@event.ma"));
+
+        // Sans échappement, _ et % correspondraient à toutes les réservations du jeu initial
+        assertThat(reservationService.rechercherReservations(
+                new ReservationFilter(null, "EVT-1000_", null, null, null, null), page)).isEmpty();
+        assertThat(reservationService.rechercherReservations(
+                new ReservationFilter(null, null, "%", "%", null, null), page)).isEmpty();
+    }
+}
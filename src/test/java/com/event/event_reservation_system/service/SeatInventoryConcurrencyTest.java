@@ -0,0 +1,98 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.EventRepository;
+import com.event.event_reservation_system.Repositories.ReservationRepository;
+import com.event.event_reservation_system.Repositories.UserRepository;
+import com.event.event_reservation_system.exception.BusinessException;
+import com.event.event_reservation_system.modele.Categorie;
+import com.event.event_reservation_system.modele.Event;
+import com.event.event_reservation_system.modele.Statut;
+import com.event.event_reservation_system.modele.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:seatinventory;LOCK_TIMEOUT=30000")
+class SeatInventoryConcurrencyTest {
+
+    private static final int CAPACITE = 250;
+    private static final int TENTATIVES = 4000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void reservationsConcurrentesNeDepassentJamaisLaCapacite() throws Exception {
+        User organisateur = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+
+        Event event = eventRepository.save(Event.builder()
+                .titre("Concert de charge")
+                .categorie(Categorie.CONCERT)
+                .dateDebut(LocalDateTime.now().plusDays(30))
+                .dateFin(LocalDateTime.now().plusDays(30).plusHours(3))
+                .lieu("Stade")
+                .ville("Casablanca")
+                .capaciteMax(CAPACITE)
+                .prixUnitaire(100.0)
+                .organisateur(organisateur)
+                .statut(Statut.PUBLIE)
+                .build());
+
+        AtomicInteger placesAcceptees = new AtomicInteger();
+        AtomicInteger refus = new AtomicInteger();
+        CountDownLatch depart = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> resultats = new ArrayList<>();
+
+        for (int i = 0; i < TENTATIVES; i++) {
+            int places = 1 + (i % 3);
+            resultats.add(executor.submit(() -> {
+                depart.await();
+                try {
+                    reservationService.creerReservation(client.getId(), event.getId(), places, null);
+                    placesAcceptees.addAndGet(places);
+                } catch (BusinessException e) {
+                    refus.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        depart.countDown();
+        for (Future<?> resultat : resultats) {
+            resultat.get();
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        int placesReservees = reservationRepository.countPlacesReserveesForEvent(event);
+        assertThat(placesReservees).isEqualTo(placesAcceptees.get());
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getPlacesReservees())
+                .isEqualTo(placesReservees);
+        assertThat(placesReservees).isLessThanOrEqualTo(CAPACITE);
+        assertThat(refus.get()).isPositive();
+    }
+}
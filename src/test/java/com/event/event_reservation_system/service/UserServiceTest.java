@@ -0,0 +1,61 @@
+package com.event.event_reservation_system.service;
+
+import com.event.event_reservation_system.Repositories.UserRepository;
+import com.event.event_reservation_system.exception.BusinessException;
+import com.event.event_reservation_system.modele.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:userservice",
+        "securite.mot-de-passe.hachage.threads=1",
+        "securite.mot-de-passe.hachage.file-attente=1"
+})
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ThreadPoolExecutor hachageExecutor;
+
+    @Test
+    void uneInscriptionRefuseeParLePoolSatureDevientUneErreurMetier() throws InterruptedException {
+        CountDownLatch liberation = new CountDownLatch(1);
+        Runnable occupation = () -> {
+            try {
+                liberation.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        // Un hachage en cours et un en file : le pool n'accepte plus rien
+        hachageExecutor.execute(occupation);
+        hachageExecutor.execute(occupation);
+
+        try {
+            User user = new User();
+            user.setPrenom("Sara");
+            user.setNom("Alami");
+            user.setEmail("sara.alami@event.ma");
+            user.setPassword("Password123");
+
+            assertThatThrownBy(() -> userService.inscrire(user))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("saturé");
+            assertThat(userRepository.existsByEmail("sara.alami@event.ma")).isFalse();
+        } finally {
+            liberation.countDown();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.event.event_reservation_system.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CodeGeneratorTest {
+
+    private static final int THREADS = 16;
+
+    @Test
+    void lesCodesGeneresEnParalleleSontUniquesEtValides() throws Exception {
+        verifierUnicite(12_500);
+    }
+
+    // 20 millions de codes (~25 s) : mvn -Plents test
+    @Test
+    @Tag("lent")
+    void vingtMillionsDeCodesGeneresEnParalleleSontUniques() throws Exception {
+        verifierUnicite(1_250_000);
+    }
+
+    @Test
+    void unIdentifiantDeNoeudDeriveEstRefuseEnProduction() {
+        assertThat(CodeGenerator.verifierNodeId(-1, false)).isEqualTo(-1);
+        assertThat(CodeGenerator.verifierNodeId(7, true)).isEqualTo(7);
+        assertThatThrownBy(() -> CodeGenerator.verifierNodeId(-1, true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("reservation.code.node-id");
+    }
+
+    @Test
+    void leSecretParDefautOuTropCourtEstRefuseEnProduction() {
+        String secretProduction = "k7Q2v9XmR4pL8sT1wZ6yB3nH5jD0cF2g";
+
+        assertThat(CodeGenerator.verifierSecret(CodeGenerator.DEV_SECRET, false)).isEqualTo(CodeGenerator.DEV_SECRET);
+        assertThat(CodeGenerator.verifierSecret(secretProduction, true)).isEqualTo(secretProduction);
+        assertThatThrownBy(() -> CodeGenerator.verifierSecret(CodeGenerator.DEV_SECRET, true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("reservation.code.secret");
+        assertThatThrownBy(() -> CodeGenerator.verifierSecret(secretProduction.substring(1), true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(String.valueOf(CodeGenerator.SECRET_MIN_BYTES));
+        assertThatThrownBy(() -> new CodeGenerator(1, CodeGenerator.DEV_SECRET, true))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void verifierUnicite(int codesParThread) throws Exception {
+        // Horloge figée : toute l'unicité repose sur la séquence logique
+        CodeGenerator generator = new CodeGenerator(42, "secret-test", () -> 1_760_000_000_000L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> resultats = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            resultats.add(executor.submit(() -> {
+                long[] corps = new long[codesParThread];
+                for (int i = 0; i < codesParThread; i++) {
+                    String code = generator.generateCode();
+                    if (i % 10_000 == 0) {
+                        assertThat(generator.isValidFormat(code)).isTrue();
+                    }
+                    corps[i] = generator.decodeBody(code);
+                }
+                return corps;
+            }));
+        }
+
+        long[] tous = new long[THREADS * codesParThread];
+        for (int t = 0; t < THREADS; t++) {
+            System.arraycopy(resultats.get(t).get(), 0, tous, t * codesParThread, codesParThread);
+        }
+        executor.shutdown();
+
+        Arrays.sort(tous);
+        for (int i = 1; i < tous.length; i++) {
+            assertThat(tous[i]).isNotEqualTo(tous[i - 1]);
+        }
+    }
+
+    @Test
+    void lesCodesAlteresSontRejetes() {
+        CodeGenerator generator = new CodeGenerator(1, "secret-test", System::currentTimeMillis);
+        CodeGenerator autreSecret = new CodeGenerator(1, "autre-secret", System::currentTimeMillis);
+
+        int acceptes = 0;
+        int acceptesAutreSecret = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String code = generator.generateCode();
+            char[] altere = code.toCharArray();
+            int position = 4 + (i % 13);
+            altere[position] = altere[position] == '0' ? '1' : '0';
+            if (generator.isValidFormat(new String(altere))) {
+                acceptes++;
+            }
+            if (autreSecret.isValidFormat(code)) {
+                acceptesAutreSecret++;
+            }
+        }
+
+        // 10 bits de contrôle : environ 1 code altéré sur 1024 passe la vérification
+        assertThat(acceptes).isLessThan(50);
+        assertThat(acceptesAutreSecret).isLessThan(50);
+        assertThat(generator.isValidFormat("EVT-10001")).isTrue();
+        assertThat(generator.isValidFormat("EVT-ABC")).isFalse();
+        assertThat(generator.isValidFormat(null)).isFalse();
+        assertThat(generator.isValidFormat(generator.normaliser(generator.generateCode().toLowerCase()))).isTrue();
+    }
+}
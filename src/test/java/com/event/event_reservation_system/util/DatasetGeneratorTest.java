@@ -0,0 +1,75 @@
+package com.event.event_reservation_system.util;
+
+import com.event.event_reservation_system.Repositories.UserRepository;
+import com.event.event_reservation_system.modele.Role;
+import com.event.event_reservation_system.modele.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dataset",
+        "spring.cache.type=none"
+})
+class DatasetGeneratorTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CodeGenerator codeGenerator;
+
+    @Test
+    void leJeuDeDonneesEstCoherentEtLesSequencesSontRecalees() throws Exception {
+        DatasetGenerator generateur = new DatasetGenerator(dataSource, codeGenerator, "{noop}Password123", 7L, 100);
+        assertThat(generateur.dejaCharge()).isFalse();
+
+        generateur.generer(200, 500, 5_000);
+
+        assertThat(generateur.dejaCharge()).isTrue();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE '%@" + DatasetGenerator.DOMAINE + "'", Long.class))
+                .isEqualTo(200);
+        List<String> codes = jdbcTemplate.queryForList("""
+                SELECT r.code_reservation FROM reservations r JOIN users u ON u.id = r.utilisateur_id
+                WHERE u.email LIKE '%@""" + DatasetGenerator.DOMAINE + "'", String.class);
+        assertThat(codes).hasSize(5_000).allMatch(codeGenerator::isValidFormat);
+
+        // Aucun brouillon réservé, compteur de places égal aux réservations actives et dans la capacité
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM reservations r JOIN events e ON e.id = r.evenement_id
+                WHERE e.statut = 'BROUILLON'
+                """, Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM events e
+                WHERE e.places_reservees > e.capacite_max
+                   OR e.places_reservees <> (SELECT COALESCE(SUM(r.nombre_places), 0) FROM reservations r
+                                             WHERE r.evenement_id = e.id AND r.statut IN ('EN_ATTENTE', 'CONFIRMEE'))
+                """, Long.class)).isZero();
+
+        // Incréments d'origine rendus aux séquences après la réservation des blocs
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME LIKE '%_SEQ'", Long.class))
+                .isNotEmpty().containsOnly(50L);
+
+        // Les identifiants JPA suivants ne chevauchent pas le bloc inséré
+        User user = userRepository.save(User.builder()
+                .nom("Apres").prenom("Chargement").email("apres.chargement@event.ma")
+                .password("{noop}Password123").role(Role.CLIENT)
+                .build());
+        assertThat(user.getId()).isGreaterThan(jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM users WHERE email LIKE '%@" + DatasetGenerator.DOMAINE + "'", Long.class));
+    }
+}